@@ -0,0 +1,151 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.coords.WorldPoint;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 104x104 collision-flag grids for the benchmarks and their {@link Walkability} exits, with the world
+ * coordinates of the scene base and the start/target tiles used on them.
+ * <p>
+ * {@code open} and {@code river} are synthetic. Any other name is read as a captured grid file:
+ * a first line {@code baseX baseY plane}, then one line per scene x holding the 104 flags for y = 0..103 in
+ * hex. A capture can be taken in-game from the RuneLite jshell with
+ * <pre>
+ * int[][] f = client.getCollisionMaps()[client.getPlane()].getFlags();
+ * var wv = client.getTopLevelWorldView();
+ * var sb = new StringBuilder(wv.getBaseX() + " " + wv.getBaseY() + " " + client.getPlane() + "\n");
+ * for (int x = 0; x &lt; 104; x++) { for (int y = 0; y &lt; 104; y++) sb.append(Integer.toHexString(f[x][y])).append(' '); sb.append('\n'); }
+ * java.nio.file.Files.writeString(java.nio.file.Path.of("shilo.flags"), sb);
+ * </pre>
+ * and passed to JMH with {@code -p grid=/path/to/shilo.flags}.
+ */
+final class CollisionGrids {
+    static final int SIZE = PathFinder.SCENE_SIZE;
+
+    // Scene base the synthetic grids are placed at; puts the deposit box at scene tile (52, 52)
+    static final int SYNTHETIC_BASE_X = 2800;
+    static final int SYNTHETIC_BASE_Y = 2900;
+
+    // The Shilo Village deposit box, as listed in locations.json
+    static final WorldPoint DEPOSIT_BOX = new WorldPoint(2852, 2952, 0);
+
+    private static final int BLOCKED = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+
+    final int baseX;
+    final int baseY;
+    final int plane;
+    final int[][] flags;
+    final byte[] exits;
+
+    private CollisionGrids(int baseX, int baseY, int plane, int[][] flags) {
+        this.baseX = baseX;
+        this.baseY = baseY;
+        this.plane = plane;
+        this.flags = flags;
+        this.exits = Walkability.build(flags);
+    }
+
+    static CollisionGrids load(String name) throws IOException {
+        switch (name) {
+            case "open":
+                return new CollisionGrids(SYNTHETIC_BASE_X, SYNTHETIC_BASE_Y, 0, new int[SIZE][SIZE]);
+            case "river":
+                return new CollisionGrids(SYNTHETIC_BASE_X, SYNTHETIC_BASE_Y, 0, river());
+            default:
+                return read(name);
+        }
+    }
+
+    WorldPoint world(int x, int y) {
+        return new WorldPoint(baseX + x, baseY + y, plane);
+    }
+
+    /**
+     * A far start tile in the north-west of the scene, roughly where the Shilo river spots are relative to
+     * the deposit box.
+     */
+    WorldPoint farStart() {
+        return open(18, 92);
+    }
+
+    /**
+     * Spot tiles spread along the south edge of the river.
+     */
+    List<WorldPoint> spots(int count) {
+        List<WorldPoint> spots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            spots.add(world(26 + i * 60 / Math.max(1, count), 79));
+        }
+        return spots;
+    }
+
+    private WorldPoint open(int x, int y) {
+        // Captured grids may block the preferred tile; walk diagonally until a free one is found
+        while ((flags[x][y] & BLOCKED) != 0 && x < SIZE - 1 && y > 0) {
+            x++;
+            y--;
+        }
+        return world(x, y);
+    }
+
+    /**
+     * An east-west river with two fords, a walled building around the deposit box and scattered obstacles.
+     */
+    private static int[][] river() {
+        int[][] flags = new int[SIZE][SIZE];
+
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 79; y <= 84; y++) {
+                if (x != 12 && x != 13 && x != 88 && x != 89) {
+                    flags[x][y] |= BLOCKED;
+                }
+            }
+        }
+
+        // Building around (52, 52) with a door on the north wall
+        for (int x = 46; x <= 58; x++) {
+            flags[x][58] |= CollisionDataFlag.BLOCK_MOVEMENT_NORTH;
+            flags[x][46] |= CollisionDataFlag.BLOCK_MOVEMENT_SOUTH;
+        }
+        for (int y = 46; y <= 58; y++) {
+            flags[46][y] |= CollisionDataFlag.BLOCK_MOVEMENT_WEST;
+            flags[58][y] |= CollisionDataFlag.BLOCK_MOVEMENT_EAST;
+        }
+        flags[52][58] &= ~CollisionDataFlag.BLOCK_MOVEMENT_NORTH;
+        flags[52][52] |= CollisionDataFlag.BLOCK_MOVEMENT_OBJECT;
+
+        // Deterministic scatter of trees and rocks
+        long seed = 0x5EED;
+        for (int i = 0; i < 900; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            int x = (int) ((seed >>> 33) % SIZE);
+            int y = (int) ((seed >>> 17) % SIZE);
+            boolean nearBuilding = x >= 45 && x <= 59 && y >= 45 && y <= 60;
+            boolean nearFord = (x >= 10 && x <= 15) || (x >= 86 && x <= 91);
+            if (!nearBuilding && !nearFord && (y < 77 || y > 86)) {
+                flags[x][y] |= CollisionDataFlag.BLOCK_MOVEMENT_OBJECT;
+            }
+        }
+        return flags;
+    }
+
+    private static CollisionGrids read(String path) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8);
+        String[] header = lines.get(0).trim().split("\\s+");
+        int[][] flags = new int[SIZE][SIZE];
+        for (int x = 0; x < SIZE; x++) {
+            String[] values = lines.get(x + 1).trim().split("\\s+");
+            for (int y = 0; y < SIZE; y++) {
+                flags[x][y] = (int) Long.parseLong(values[y], 16);
+            }
+        }
+        return new CollisionGrids(Integer.parseInt(header[0]), Integer.parseInt(header[1]), Integer.parseInt(header[2]), flags);
+    }
+}
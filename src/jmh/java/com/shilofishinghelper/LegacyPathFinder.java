@@ -0,0 +1,96 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * The WorldPoint/HashMap breadth-first search the plugin used before {@link PathFinder}, kept as the
+ * baseline the benchmarks compare against. Works on a flags array instead of the client.
+ */
+final class LegacyPathFinder {
+    private static final int MAX_DISTANCE = 80;
+
+    private LegacyPathFinder() {
+    }
+
+    static List<WorldPoint> findWalkablePath(int[][] flags, int baseX, int baseY, WorldPoint start, WorldPoint end) {
+        Queue<WorldPoint> frontier = new LinkedList<>();
+        Map<WorldPoint, WorldPoint> cameFrom = new HashMap<>();
+        Set<WorldPoint> visited = new HashSet<>();
+
+        frontier.add(start);
+        visited.add(start);
+        cameFrom.put(start, null);
+
+        while (!frontier.isEmpty()) {
+            WorldPoint current = frontier.poll();
+
+            if (isCardinallyAdjacent(current, end)) {
+                return reconstructPath(cameFrom, start, current);
+            }
+
+            if (current.distanceTo(start) > MAX_DISTANCE)
+                continue;
+
+            for (WorldPoint neighbor : getWalkableNeighbors(current, flags, baseX, baseY)) {
+                if (!visited.add(neighbor))
+                    continue;
+
+                cameFrom.put(neighbor, current);
+                frontier.add(neighbor);
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
+    private static boolean isCardinallyAdjacent(WorldPoint a, WorldPoint b) {
+        if (a.getPlane() != b.getPlane()) return false;
+        int dx = Math.abs(a.getX() - b.getX());
+        int dy = Math.abs(a.getY() - b.getY());
+        return (dx + dy) == 1;
+    }
+
+    private static List<WorldPoint> getWalkableNeighbors(WorldPoint wp, int[][] flags, int baseX, int baseY) {
+        List<WorldPoint> result = new ArrayList<>();
+        int localX = wp.getX() - baseX;
+        int localY = wp.getY() - baseY;
+
+        if (localX < 0 || localY < 0 || localX >= 104 || localY >= 104)
+            return result;
+
+        tryAddIfWalkable(result, wp, -1, 0, flags, localX, localY);
+        tryAddIfWalkable(result, wp, 1, 0, flags, localX, localY);
+        tryAddIfWalkable(result, wp, 0, -1, flags, localX, localY);
+        tryAddIfWalkable(result, wp, 0, 1, flags, localX, localY);
+
+        return result;
+    }
+
+    private static void tryAddIfWalkable(List<WorldPoint> list, WorldPoint wp, int dx, int dy, int[][] flags, int x, int y) {
+        if (PathFinder.canMove(flags, x, y, dx, dy))
+            list.add(new WorldPoint(wp.getX() + dx, wp.getY() + dy, wp.getPlane()));
+    }
+
+    private static List<WorldPoint> reconstructPath(Map<WorldPoint, WorldPoint> cameFrom, WorldPoint start, WorldPoint end) {
+        List<WorldPoint> path = new ArrayList<>();
+        WorldPoint current = end;
+
+        while (current != null && !current.equals(start)) {
+            path.add(current);
+            current = cameFrom.get(current);
+        }
+
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,73 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.coords.WorldPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-target routes from a far tile to the deposit box: the legacy search, {@link PathFinder}'s A* and
+ * the deposit {@link DistanceField}, plus building the {@link Walkability} table they search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathFinderBenchmark {
+    @Param({"open", "river"})
+    public String grid;
+
+    private CollisionGrids scene;
+    private WorldPoint start;
+    private WorldPoint target;
+    private PathFinder pathFinder;
+    private DistanceField depositField;
+
+    @Setup
+    public void setUp() throws IOException {
+        scene = CollisionGrids.load(grid);
+        start = scene.farStart();
+        target = CollisionGrids.DEPOSIT_BOX;
+        pathFinder = new PathFinder();
+        depositField = DistanceField.build(scene.exits, scene.baseX, scene.baseY, target);
+    }
+
+    @Benchmark
+    public List<WorldPoint> legacyBfs() {
+        return LegacyPathFinder.findWalkablePath(scene.flags, scene.baseX, scene.baseY, start, target);
+    }
+
+    @Benchmark
+    public List<WorldPoint> aStar() {
+        return pathFinder.findPath(scene.exits, scene.baseX, scene.baseY, start, target);
+    }
+
+    @Benchmark
+    public DistanceField distanceFieldBuild() {
+        return DistanceField.build(scene.exits, scene.baseX, scene.baseY, target);
+    }
+
+    @Benchmark
+    public byte[] walkabilityBuild() {
+        return Walkability.build(scene.flags);
+    }
+
+    @Benchmark
+    public List<WorldPoint> distanceFieldLookup() {
+        return depositField.pathFrom(start);
+    }
+}
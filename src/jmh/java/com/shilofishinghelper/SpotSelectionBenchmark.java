@@ -0,0 +1,79 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.coords.WorldPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The nearest-spot selection done on every game tick: one search per spot, as the tick loop used to do,
+ * against the single multi-target search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpotSelectionBenchmark {
+    @Param({"open", "river"})
+    public String grid;
+
+    @Param({"2", "5", "8"})
+    public int spotCount;
+
+    private CollisionGrids scene;
+    private WorldPoint start;
+    private List<WorldPoint> spots;
+    private PathFinder pathFinder;
+
+    @Setup
+    public void setUp() throws IOException {
+        scene = CollisionGrids.load(grid);
+        start = scene.farStart();
+        spots = scene.spots(spotCount);
+        pathFinder = new PathFinder();
+    }
+
+    @Benchmark
+    public int legacyPerSpot() {
+        return nearestBySeparateSearches(true);
+    }
+
+    @Benchmark
+    public int pathFinderPerSpot() {
+        return nearestBySeparateSearches(false);
+    }
+
+    @Benchmark
+    public PathFinder.Result singlePass() {
+        return pathFinder.findNearest(scene.exits, scene.baseX, scene.baseY, start, spots);
+    }
+
+    private int nearestBySeparateSearches(boolean legacy) {
+        int best = -1;
+        int bestLength = Integer.MAX_VALUE;
+        for (int i = 0; i < spots.size(); i++) {
+            List<WorldPoint> path = legacy
+                    ? LegacyPathFinder.findWalkablePath(scene.flags, scene.baseX, scene.baseY, start, spots.get(i))
+                    : pathFinder.findPath(scene.exits, scene.baseX, scene.baseY, start, spots.get(i));
+            if (!path.isEmpty() && path.size() < bestLength) {
+                bestLength = path.size();
+                best = i;
+            }
+        }
+        return best;
+    }
+}
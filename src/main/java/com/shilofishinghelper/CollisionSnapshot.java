@@ -0,0 +1,67 @@
+package com.shilofishinghelper;
+
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.CollisionData;
+import net.runelite.api.WorldView;
+
+import java.util.zip.CRC32;
+
+/**
+ * Immutable {@link Walkability} table of one plane and the scene base it is relative to, built from the
+ * collision flags on the client thread so searches can run anywhere. A CRC32 of the exits identifies the
+ * collision data across snapshots and sessions.
+ */
+@Getter
+class CollisionSnapshot {
+    private final int plane;
+    private final int baseX;
+    private final int baseY;
+    /** Bumped by the plugin whenever the collision data may have changed. */
+    private final int revision;
+    private final byte[] exits;
+    private final int exitsHash;
+
+    private CollisionSnapshot(int plane, int baseX, int baseY, int revision, byte[] exits) {
+        this.plane = plane;
+        this.baseX = baseX;
+        this.baseY = baseY;
+        this.revision = revision;
+        this.exits = exits;
+        this.exitsHash = hash(exits);
+    }
+
+    /**
+     * Builds the exit table of {@code plane} from its collision flags. Must be called on the client thread.
+     *
+     * @return the snapshot, or {@code null} if the plane's collision data is not loaded
+     */
+    static CollisionSnapshot capture(Client client, int plane, int revision) {
+        CollisionData[] collisionData = client.getCollisionMaps();
+        if (collisionData == null || plane < 0 || plane >= collisionData.length || collisionData[plane] == null) {
+            return null;
+        }
+
+        byte[] exits = Walkability.build(collisionData[plane].getFlags());
+        WorldView worldView = client.getTopLevelWorldView();
+        return new CollisionSnapshot(plane, worldView.getBaseX(), worldView.getBaseY(), revision, exits);
+    }
+
+    /**
+     * Rebuilds a snapshot read back from disk. It never counts as current, so the first tick captures the live
+     * collision data and compares against it.
+     */
+    static CollisionSnapshot restore(int plane, int baseX, int baseY, byte[] exits) {
+        return new CollisionSnapshot(plane, baseX, baseY, -1, exits);
+    }
+
+    static int hash(byte[] exits) {
+        CRC32 crc = new CRC32();
+        crc.update(exits, 0, exits.length);
+        return (int) crc.getValue();
+    }
+
+    boolean isCurrent(int plane, int baseX, int baseY, int revision) {
+        return this.plane == plane && this.baseX == baseX && this.baseY == baseY && this.revision == revision;
+    }
+}
@@ -0,0 +1,118 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Walking distance from every scene tile to the tiles cardinally adjacent to a fixed target, built with a
+ * single reverse breadth-first search. Each reachable tile also stores its next hop towards the target, so
+ * a route from any tile is read off in O(path length) without searching.
+ * <p>
+ * Only valid for the scene base and collision data it was built from.
+ */
+class DistanceField {
+    private static final int SCENE_SIZE = PathFinder.SCENE_SIZE;
+    private static final int UNREACHABLE = -1;
+
+    private final WorldPoint target;
+    private final int baseX;
+    private final int baseY;
+    private final int[] distance;
+    private final int[] next;
+
+    private DistanceField(WorldPoint target, int baseX, int baseY, int[] distance, int[] next) {
+        this.target = target;
+        this.baseX = baseX;
+        this.baseY = baseY;
+        this.distance = distance;
+        this.next = next;
+    }
+
+    static DistanceField build(byte[] exits, int baseX, int baseY, WorldPoint target) {
+        int[] distance = new int[SCENE_SIZE * SCENE_SIZE];
+        int[] next = new int[SCENE_SIZE * SCENE_SIZE];
+        int[] queue = new int[SCENE_SIZE * SCENE_SIZE];
+        Arrays.fill(distance, UNREACHABLE);
+
+        int tx = target.getX() - baseX;
+        int ty = target.getY() - baseY;
+        int tail = 0;
+        tail = seed(distance, next, queue, tail, tx - 1, ty);
+        tail = seed(distance, next, queue, tail, tx + 1, ty);
+        tail = seed(distance, next, queue, tail, tx, ty - 1);
+        tail = seed(distance, next, queue, tail, tx, ty + 1);
+
+        int head = 0;
+        while (head < tail) {
+            int current = queue[head++];
+            int x = current / SCENE_SIZE;
+            int y = current % SCENE_SIZE;
+            int d = distance[current] + 1;
+
+            // Walk edges backwards: a neighbour reaches this tile if it can move towards it
+            if (x > 0 && distance[current - SCENE_SIZE] == UNREACHABLE && (exits[current - SCENE_SIZE] & Walkability.EAST) != 0)
+                tail = visit(distance, next, queue, tail, current - SCENE_SIZE, current, d);
+            if (x < SCENE_SIZE - 1 && distance[current + SCENE_SIZE] == UNREACHABLE && (exits[current + SCENE_SIZE] & Walkability.WEST) != 0)
+                tail = visit(distance, next, queue, tail, current + SCENE_SIZE, current, d);
+            if (y > 0 && distance[current - 1] == UNREACHABLE && (exits[current - 1] & Walkability.NORTH) != 0)
+                tail = visit(distance, next, queue, tail, current - 1, current, d);
+            if (y < SCENE_SIZE - 1 && distance[current + 1] == UNREACHABLE && (exits[current + 1] & Walkability.SOUTH) != 0)
+                tail = visit(distance, next, queue, tail, current + 1, current, d);
+        }
+
+        return new DistanceField(target, baseX, baseY, distance, next);
+    }
+
+    private static int seed(int[] distance, int[] next, int[] queue, int tail, int x, int y) {
+        if (!PathFinder.inScene(x, y)) {
+            return tail;
+        }
+
+        int index = x * SCENE_SIZE + y;
+        if (distance[index] != UNREACHABLE) {
+            return tail;
+        }
+        return visit(distance, next, queue, tail, index, -1, 0);
+    }
+
+    private static int visit(int[] distance, int[] next, int[] queue, int tail, int index, int towards, int d) {
+        distance[index] = d;
+        next[index] = towards;
+        queue[tail] = index;
+        return tail + 1;
+    }
+
+    /**
+     * @return walking distance from {@code start} to a tile adjacent to the target, or -1 if unreachable
+     */
+    int distanceFrom(WorldPoint start) {
+        int x = start.getX() - baseX;
+        int y = start.getY() - baseY;
+        if (start.getPlane() != target.getPlane() || !PathFinder.inScene(x, y)) {
+            return UNREACHABLE;
+        }
+        return distance[x * SCENE_SIZE + y];
+    }
+
+    /**
+     * Follows the next hops from {@code start}. The path excludes {@code start} and ends on the tile
+     * adjacent to the target; it is empty when {@code start} is adjacent or the target is unreachable.
+     */
+    List<WorldPoint> pathFrom(WorldPoint start) {
+        int length = distanceFrom(start);
+        if (length <= 0) {
+            return Collections.emptyList();
+        }
+
+        WorldPoint[] tiles = new WorldPoint[length];
+        int current = (start.getX() - baseX) * SCENE_SIZE + (start.getY() - baseY);
+        for (int n = 0; n < length; n++) {
+            current = next[current];
+            tiles[n] = new WorldPoint(baseX + current / SCENE_SIZE, baseY + current % SCENE_SIZE, target.getPlane());
+        }
+        return Arrays.asList(tiles);
+    }
+}
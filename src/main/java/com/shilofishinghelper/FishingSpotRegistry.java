@@ -0,0 +1,132 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.NPC;
+import net.runelite.api.coords.WorldPoint;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The fishing spots currently loaded, kept up to date from NPC spawn, despawn and change events.
+ * <p>
+ * Spots are matched by the NPC IDs of the current {@link LocationProfile}. Any other ID falls back to names,
+ * so a spot ID missing from the profile is still recognised: it is checked by name once, the first time it
+ * is seen, and remembered as a spot or not, so per-tick code never has to look at NPC names.
+ */
+@Singleton
+class FishingSpotRegistry {
+    private int[] spotIds = new int[0];
+    private int[] otherIds = new int[16];
+    private int otherCount;
+
+    private final List<NPC> spots = new ArrayList<>();
+    private final List<NPC> spotsView = Collections.unmodifiableList(spots);
+    private final List<WorldPoint> locations = new ArrayList<>();
+    private final List<WorldPoint> locationsView = Collections.unmodifiableList(locations);
+
+    boolean isSpot(NPC npc) {
+        return npc != null && contains(spotIds, spotIds.length, npc.getId());
+    }
+
+    /**
+     * @return the loaded fishing spots in spawn order
+     */
+    List<NPC> getSpots() {
+        return spotsView;
+    }
+
+    /**
+     * Refreshes and returns the current tile of every spot, in the same order as {@link #getSpots()}.
+     * The returned list is reused between calls.
+     */
+    List<WorldPoint> getLocations() {
+        locations.clear();
+        for (int i = 0; i < spots.size(); i++) {
+            locations.add(spots.get(i).getWorldLocation());
+        }
+        return locationsView;
+    }
+
+    /**
+     * Switches to the spot IDs of a location and forgets the loaded spots and learned IDs.
+     */
+    void setLocation(LocationProfile location) {
+        clear();
+        spotIds = Arrays.copyOf(location.getSpotIds(), location.getSpotIds().length);
+        otherCount = 0;
+    }
+
+    void onSpawned(NPC npc) {
+        if (classify(npc) && !spots.contains(npc)) {
+            spots.add(npc);
+        }
+    }
+
+    void onDespawned(NPC npc) {
+        spots.remove(npc);
+    }
+
+    void onChanged(NPC npc) {
+        if (classify(npc)) {
+            if (!spots.contains(npc)) {
+                spots.add(npc);
+            }
+        } else {
+            spots.remove(npc);
+        }
+    }
+
+    void rebuild(List<NPC> npcs) {
+        spots.clear();
+        for (NPC npc : npcs) {
+            if (npc != null) {
+                onSpawned(npc);
+            }
+        }
+    }
+
+    void clear() {
+        spots.clear();
+        locations.clear();
+    }
+
+    private boolean classify(NPC npc) {
+        int id = npc.getId();
+        if (contains(spotIds, spotIds.length, id)) {
+            return true;
+        }
+        if (contains(otherIds, otherCount, id)) {
+            return false;
+        }
+
+        String name = npc.getName();
+        if (name == null) {
+            // Not resolved yet; decide on the next event for this NPC
+            return false;
+        }
+
+        if (name.toLowerCase().contains("fishing")) {
+            spotIds = Arrays.copyOf(spotIds, spotIds.length + 1);
+            spotIds[spotIds.length - 1] = id;
+            return true;
+        }
+
+        if (otherCount == otherIds.length) {
+            otherIds = Arrays.copyOf(otherIds, otherCount * 2);
+        }
+        otherIds[otherCount++] = id;
+        return false;
+    }
+
+    private static boolean contains(int[] ids, int count, int id) {
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package com.shilofishinghelper;
+
+import lombok.Value;
+import net.runelite.api.GameObject;
+
+import java.awt.Color;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything the overlays draw, decided on the client thread when game state changes: on each game tick,
+ * when a route from the pathfinding worker is adopted, and on the idle, inventory and config events that
+ * should show before the next tick.
+ * <p>
+ * Overlays only read the plan they were last handed, so frames between ticks do not query game state or
+ * repeat decisions such as which route to show. They still project it with the current camera.
+ */
+@Value
+class FramePlan {
+    static final FramePlan EMPTY = new FramePlan(null, null, false, null, null,
+            Collections.emptyList(), null, null, null);
+
+    /** Drawing resources; {@code null} draws nothing. */
+    RenderSettings settings;
+    /** Route to draw, or {@code null} if the path is hidden or there is none yet. */
+    Route route;
+    /** Whether {@link #route} leads to the deposit box rather than a spot. */
+    boolean depositRoute;
+    Color pathFill;
+    Color pathOutline;
+    /** Objects to outline, only while the deposit route is shown. */
+    List<GameObject> depositObjects;
+    /** Free inventory slots to show, or {@code null} if the count is hidden or unknown. */
+    String freeSlotsLabel;
+    Color freeSlotsColor;
+    /** Why the player went idle, or {@code null} if they are not or the tint is off. */
+    IdleDetector.Reason idleReason;
+}
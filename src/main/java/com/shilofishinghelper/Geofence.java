@@ -0,0 +1,84 @@
+package com.shilofishinghelper;
+
+import lombok.Getter;
+import net.runelite.api.Player;
+import net.runelite.api.coords.WorldPoint;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Tracks which fishing location, if any, the local player is in.
+ * <p>
+ * The regions of the loaded scene are checked once per scene load; while no location is loaded the player
+ * cannot be in one and is not looked at. Otherwise the player's region ID is compared each tick and the
+ * location is only looked up again when it changes, so the per-tick cost does not grow with the number of
+ * locations. A location with bounds lists every region they touch and is also checked against them each
+ * tick the player is in one of those regions. {@link #update(Player)} returns whether the location changed, so callers only do the work tied
+ * to a location on entering or leaving it.
+ */
+@Singleton
+class Geofence {
+    private static final int NO_REGION = -1;
+
+    private final LocationProfiles profiles;
+
+    private boolean areaLoaded = true;
+    private int lastRegion = NO_REGION;
+    // The location whose regions include the player's, whether or not the player is inside its bounds
+    private LocationProfile regionLocation;
+    /** The location the player is in, or {@code null}. */
+    @Getter
+    private LocationProfile location;
+
+    @Inject
+    Geofence(LocationProfiles profiles) {
+        this.profiles = profiles;
+    }
+
+    /**
+     * @param mapRegions the regions of the scene that just loaded, or {@code null} if unknown
+     */
+    void onSceneLoaded(int[] mapRegions) {
+        areaLoaded = mapRegions == null || profiles.coversAny(mapRegions);
+        lastRegion = NO_REGION;
+        regionLocation = null;
+    }
+
+    /**
+     * @return whether the player entered, left or switched location since the last call
+     */
+    boolean update(Player player) {
+        LocationProfile now;
+        if (!areaLoaded) {
+            lastRegion = NO_REGION;
+            regionLocation = null;
+            now = null;
+        } else {
+            WorldPoint point = player.getWorldLocation();
+            int region = point.getRegionID();
+            if (region != lastRegion) {
+                lastRegion = region;
+                regionLocation = profiles.forRegion(region);
+            }
+            now = regionLocation != null && regionLocation.contains(point) ? regionLocation : null;
+        }
+
+        if (now == location) {
+            return false;
+        }
+        location = now;
+        return true;
+    }
+
+    boolean isInside() {
+        return location != null;
+    }
+
+    void reset() {
+        areaLoaded = true;
+        lastRegion = NO_REGION;
+        regionLocation = null;
+        location = null;
+    }
+}
@@ -0,0 +1,141 @@
+package com.shilofishinghelper;
+
+import lombok.Getter;
+import net.runelite.api.Actor;
+import net.runelite.api.NPC;
+import net.runelite.api.coords.WorldPoint;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Tracks whether the player is fishing from animation, interaction, click and inventory events, and
+ * reports the moment fishing stops on its own.
+ * <p>
+ * A stop right after a user click is treated as intentional and not reported. A click only counts for the
+ * stop it causes: once a game tick passes with the player still fishing, it is forgotten.
+ * <p>
+ * The event methods return whether {@link #getIdleReason()} changed, so callers only touch the
+ * overlay on transitions.
+ */
+@Singleton
+class IdleDetector {
+    enum Reason {
+        SPOT_MOVED("Fishing spot moved"),
+        INVENTORY_FULL("Inventory full"),
+        INTERRUPTED("Stopped fishing");
+
+        @Getter
+        private final String label;
+
+        Reason(String label) {
+            this.label = label;
+        }
+    }
+
+    private final FishingSpotRegistry spotRegistry;
+    private final InventoryState inventoryState;
+
+    private int animation = -1;
+    private Actor interacting;
+
+    private boolean fishing;
+    private NPC fishedSpot;
+    private WorldPoint fishedLocation;
+    private boolean clickedSinceFishing;
+
+    /** Why the player went idle, or {@code null} while fishing or after a click. */
+    @Getter
+    private Reason idleReason;
+
+    @Inject
+    IdleDetector(FishingSpotRegistry spotRegistry, InventoryState inventoryState) {
+        this.spotRegistry = spotRegistry;
+        this.inventoryState = inventoryState;
+    }
+
+    boolean onAnimationChanged(int animation) {
+        this.animation = animation;
+        return update();
+    }
+
+    boolean onInteractingChanged(Actor target) {
+        interacting = target;
+        return update();
+    }
+
+    /**
+     * A user click clears the idle state and suppresses the stop it causes.
+     */
+    boolean onClick() {
+        clickedSinceFishing = true;
+        return setIdleReason(null);
+    }
+
+    /**
+     * The inventory event can arrive after the animation stops; a full inventory explains that stop.
+     */
+    boolean onInventoryChanged() {
+        if (idleReason == Reason.INTERRUPTED && inventoryState.isFull()) {
+            return setIdleReason(Reason.INVENTORY_FULL);
+        }
+        return false;
+    }
+
+    void onTick() {
+        if (fishing) {
+            clickedSinceFishing = false;
+        }
+    }
+
+    void reset() {
+        animation = -1;
+        interacting = null;
+        fishing = false;
+        fishedSpot = null;
+        fishedLocation = null;
+        clickedSinceFishing = false;
+        idleReason = null;
+    }
+
+    private boolean update() {
+        if (animation != -1 && interacting instanceof NPC && spotRegistry.isSpot((NPC) interacting)) {
+            if (!fishing) {
+                fishing = true;
+                clickedSinceFishing = false;
+            }
+            fishedSpot = (NPC) interacting;
+            fishedLocation = fishedSpot.getWorldLocation();
+            return setIdleReason(null);
+        }
+
+        if (!fishing || (animation != -1 && interacting != null)) {
+            return false;
+        }
+
+        fishing = false;
+        if (clickedSinceFishing) {
+            clickedSinceFishing = false;
+            return false;
+        }
+        return setIdleReason(stopReason());
+    }
+
+    private Reason stopReason() {
+        if (inventoryState.isFull()) {
+            return Reason.INVENTORY_FULL;
+        }
+        if (!spotRegistry.getSpots().contains(fishedSpot) || !fishedSpot.getWorldLocation().equals(fishedLocation)) {
+            return Reason.SPOT_MOVED;
+        }
+        return Reason.INTERRUPTED;
+    }
+
+    private boolean setIdleReason(Reason reason) {
+        if (idleReason == reason) {
+            return false;
+        }
+        idleReason = reason;
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package com.shilofishinghelper;
+
+/**
+ * How the idle overlay marks the game view.
+ */
+public enum IdleOverlayStyle {
+    FULL("Full tint"),
+    BORDER("Border"),
+    PULSE("Pulsing border");
+
+    private final String name;
+
+    IdleOverlayStyle(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
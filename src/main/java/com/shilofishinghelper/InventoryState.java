@@ -0,0 +1,80 @@
+package com.shilofishinghelper;
+
+import lombok.Getter;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+
+import javax.inject.Singleton;
+
+/**
+ * Free slots and fish counts of the player's inventory, recomputed only when the inventory changes so
+ * overlays can read plain fields every frame.
+ */
+@Singleton
+class InventoryState {
+    static final int INVENTORY_SIZE = 28;
+
+    // Raw trout, raw salmon, raw pike
+    static final int[] FISH_IDS = {335, 331, 349};
+
+    private final int[] fishCounts = new int[FISH_IDS.length];
+
+    /** Whether an inventory has been seen since the last reset. */
+    @Getter
+    private boolean loaded;
+    @Getter
+    private int freeSlots = INVENTORY_SIZE;
+    @Getter
+    private boolean full;
+
+    void update(ItemContainer inventory) {
+        if (inventory == null) {
+            reset();
+            return;
+        }
+
+        int filledSlots = 0;
+        for (int f = 0; f < fishCounts.length; f++) {
+            fishCounts[f] = 0;
+        }
+
+        for (Item item : inventory.getItems()) {
+            if (item == null || item.getId() == -1) {
+                continue;
+            }
+
+            filledSlots++;
+            for (int f = 0; f < FISH_IDS.length; f++) {
+                if (FISH_IDS[f] == item.getId()) {
+                    fishCounts[f] += item.getQuantity();
+                    break;
+                }
+            }
+        }
+
+        loaded = true;
+        freeSlots = Math.max(0, INVENTORY_SIZE - filledSlots);
+        full = freeSlots == 0;
+    }
+
+    /**
+     * @return how many of the given raw fish are in the inventory, or 0 if it is not one of {@link #FISH_IDS}
+     */
+    int getFishCount(int itemId) {
+        for (int f = 0; f < FISH_IDS.length; f++) {
+            if (FISH_IDS[f] == itemId) {
+                return fishCounts[f];
+            }
+        }
+        return 0;
+    }
+
+    void reset() {
+        loaded = false;
+        freeSlots = INVENTORY_SIZE;
+        full = false;
+        for (int f = 0; f < fishCounts.length; f++) {
+            fishCounts[f] = 0;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.shilofishinghelper;
+
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One fishing location as read from {@code locations.json}: the map regions it covers, the deposit box or
+ * bank the route leads to when the inventory is full, the NPC IDs of its fishing spots and the tiles those
+ * spots are known to appear on.
+ */
+@Getter
+class LocationProfile {
+    /** Inclusive tile bounds for a location that does not fill its regions. */
+    static class Bounds {
+        private int minX;
+        private int minY;
+        private int maxX;
+        private int maxY;
+    }
+
+    private String name;
+    /** Every region the location touches; the first one keys its saved navigation data. */
+    private int[] regions;
+    /** Where in those regions the location is; all of them when absent. */
+    private Bounds bounds;
+    /** Object highlighted when the inventory is full; a deposit box or a bank booth. */
+    private int depositObjectId;
+    /** Tile of that object; the route ends next to it. */
+    private WorldPoint depositTile;
+    /** Fishing spot NPC IDs; any other NPC with "fishing" in its name counts too. */
+    private int[] spotIds;
+    /** Tiles the spots appear on, precomputed before they are first seen. */
+    private List<WorldPoint> spotTiles;
+
+    private transient long depositKey;
+
+    /**
+     * Fills in optional fields and derived keys after loading.
+     *
+     * @throws IllegalArgumentException if a required field is missing
+     */
+    void validate() {
+        if (name == null || regions == null || regions.length == 0 || depositTile == null) {
+            throw new IllegalArgumentException("Location needs a name, regions and a deposit tile: " + name);
+        }
+        if (spotIds == null) {
+            spotIds = new int[0];
+        }
+        if (spotTiles == null) {
+            spotTiles = Collections.emptyList();
+        }
+        depositKey = Route.key(depositTile);
+    }
+
+    /**
+     * @return whether {@code point}, which lies in one of the location's regions, is inside the location
+     */
+    boolean contains(WorldPoint point) {
+        return bounds == null
+                || (point.getX() >= bounds.minX && point.getX() <= bounds.maxX
+                && point.getY() >= bounds.minY && point.getY() <= bounds.maxY);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,89 @@
+package com.shilofishinghelper;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fishing locations bundled in {@code locations.json}, indexed by map region.
+ * <p>
+ * Finding the location of a region is one map lookup however many locations there are. Profiles that fail
+ * to validate are logged and skipped.
+ */
+@Slf4j
+@Singleton
+class LocationProfiles {
+    private static final String RESOURCE = "locations.json";
+
+    private final List<LocationProfile> profiles = new ArrayList<>();
+    private final Map<Integer, LocationProfile> byRegion = new HashMap<>();
+
+    @Inject
+    LocationProfiles(Gson gson) {
+        for (LocationProfile profile : read(gson)) {
+            try {
+                profile.validate();
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping fishing location: {}", e.getMessage());
+                continue;
+            }
+
+            profiles.add(profile);
+            for (int region : profile.getRegions()) {
+                byRegion.put(region, profile);
+            }
+        }
+    }
+
+    List<LocationProfile> getProfiles() {
+        return Collections.unmodifiableList(profiles);
+    }
+
+    /**
+     * @return the location covering {@code region}, or {@code null}
+     */
+    LocationProfile forRegion(int region) {
+        return byRegion.get(region);
+    }
+
+    /**
+     * @return whether any of {@code mapRegions} belongs to a location
+     */
+    boolean coversAny(int[] mapRegions) {
+        for (int region : mapRegions) {
+            if (byRegion.containsKey(region)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LocationProfile[] read(Gson gson) {
+        InputStream in = LocationProfiles.class.getResourceAsStream(RESOURCE);
+        if (in == null) {
+            log.warn("Missing {}", RESOURCE);
+            return new LocationProfile[0];
+        }
+
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            LocationProfile[] read = gson.fromJson(reader, LocationProfile[].class);
+            return read == null ? new LocationProfile[0] : read;
+        } catch (IOException | JsonParseException e) {
+            log.warn("Unable to read {}", RESOURCE, e);
+            return new LocationProfile[0];
+        }
+    }
+}
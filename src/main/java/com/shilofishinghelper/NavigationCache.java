@@ -0,0 +1,55 @@
+package com.shilofishinghelper;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link RouteTable} of each fishing location, built on first entry and kept for the few most recently
+ * visited locations, so walking back and forth between neighbouring locations does not relearn their spot
+ * tiles or rebuild their fields while the collision data is unchanged.
+ */
+@Singleton
+class NavigationCache {
+    static final int MAX_LOCATIONS = 3;
+
+    // Access ordered, so the eldest entry is the least recently entered location
+    private final Map<LocationProfile, RouteTable> tables =
+            new LinkedHashMap<LocationProfile, RouteTable>(MAX_LOCATIONS + 1, 1f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LocationProfile, RouteTable> eldest) {
+            return size() > MAX_LOCATIONS;
+        }
+    };
+
+    RouteTable get(LocationProfile location) {
+        return tables.computeIfAbsent(location, RouteTable::new);
+    }
+
+    /**
+     * Adds a table restored by {@link NavigationStore}, unless the location already has a live one.
+     */
+    void restore(LocationProfile location, RouteTable table) {
+        tables.putIfAbsent(location, table);
+    }
+
+    /**
+     * @return an entry for every table whose deposit field is built, for {@link NavigationStore#save}
+     */
+    List<NavigationStore.Entry> entries() {
+        List<NavigationStore.Entry> entries = new ArrayList<>(tables.size());
+        for (Map.Entry<LocationProfile, RouteTable> table : tables.entrySet()) {
+            CollisionSnapshot snapshot = table.getValue().getSnapshot();
+            if (snapshot != null) {
+                entries.add(new NavigationStore.Entry(table.getKey(), snapshot, table.getValue().getNodes()));
+            }
+        }
+        return entries;
+    }
+
+    void clear() {
+        tables.clear();
+    }
+}
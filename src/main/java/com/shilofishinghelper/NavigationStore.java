@@ -0,0 +1,155 @@
+package com.shilofishinghelper;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.RuneLite;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Saves the navigation data of each visited location to a binary file under the RuneLite directory, so the
+ * next session starts with its spot tiles known and its fields ready instead of searching on the first ticks.
+ * <p>
+ * Each entry is keyed by the first region of its location and the CRC32 of its {@link Walkability} table,
+ * and holds that table, the scene base it is relative to and the table's nodes. Fields are not stored:
+ * rebuilding them from the table is cheaper than reading them back. An entry whose table no longer matches
+ * the live scene is caught by {@link RouteTable#update} on the first tick, and its fields are rebuilt in the
+ * background.
+ * <p>
+ * The file is read with a single read. Both methods do blocking I/O and belong on a background thread.
+ */
+@Slf4j
+@Singleton
+class NavigationStore {
+    private static final int MAGIC = 0x5346484E; // "SFHN"
+    private static final int FORMAT = 1;
+    private static final int EXITS_LENGTH = PathFinder.SCENE_SIZE * PathFinder.SCENE_SIZE;
+
+    static final class Entry {
+        final LocationProfile location;
+        final CollisionSnapshot snapshot;
+        final List<WorldPoint> nodes;
+
+        Entry(LocationProfile location, CollisionSnapshot snapshot, List<WorldPoint> nodes) {
+            this.location = location;
+            this.snapshot = snapshot;
+            this.nodes = nodes;
+        }
+    }
+
+    private final LocationProfiles profiles;
+    private final File file;
+
+    @Inject
+    NavigationStore(LocationProfiles profiles) {
+        this(profiles, new File(new File(RuneLite.RUNELITE_DIR, "shilo-fishing-helper"), "navigation.bin"));
+    }
+
+    NavigationStore(LocationProfiles profiles, File file) {
+        this.profiles = profiles;
+        this.file = file;
+    }
+
+    /**
+     * @return the stored entries of locations that still exist; empty if there is no file or it is unreadable
+     */
+    List<Entry> load() {
+        if (!file.isFile()) {
+            return Collections.emptyList();
+        }
+
+        try {
+            return read(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            log.debug("Ignoring navigation cache {}", file, e);
+            return Collections.emptyList();
+        }
+    }
+
+    void save(List<Entry> entries) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(entries.size() * (EXITS_LENGTH + 256));
+            write(new DataOutputStream(bytes), entries);
+
+            // Written aside and moved over, so a crash never leaves a half-written file behind
+            File parent = file.getParentFile();
+            if (parent != null) {
+                Files.createDirectories(parent.toPath());
+            }
+            File temp = new File(file.getPath() + ".tmp");
+            Files.write(temp.toPath(), bytes.toByteArray());
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Unable to save navigation cache {}", file, e);
+        }
+    }
+
+    private List<Entry> read(ByteBuffer in) {
+        if (in.getInt() != MAGIC || in.getInt() != FORMAT) {
+            throw new IllegalArgumentException("not a navigation cache of this version");
+        }
+
+        int count = in.getInt();
+        List<Entry> entries = new ArrayList<>(Math.min(count, 16));
+        for (int e = 0; e < count; e++) {
+            int region = in.getInt();
+            int plane = in.getInt();
+            int baseX = in.getInt();
+            int baseY = in.getInt();
+            int exitsHash = in.getInt();
+            byte[] exits = new byte[EXITS_LENGTH];
+            in.get(exits);
+
+            int nodeCount = in.getInt();
+            if (nodeCount < 0 || nodeCount > RouteTable.MAX_SPOT_TILES + 1) {
+                throw new IllegalArgumentException("bad node count " + nodeCount);
+            }
+            List<WorldPoint> nodes = new ArrayList<>(nodeCount);
+            for (int n = 0; n < nodeCount; n++) {
+                nodes.add(new WorldPoint(in.getInt(), in.getInt(), in.getInt()));
+            }
+
+            LocationProfile location = profiles.forRegion(region);
+            CollisionSnapshot snapshot = CollisionSnapshot.restore(plane, baseX, baseY, exits);
+            if (location != null && snapshot.getExitsHash() == exitsHash) {
+                entries.add(new Entry(location, snapshot, nodes));
+            }
+        }
+        return entries;
+    }
+
+    private static void write(DataOutputStream out, List<Entry> entries) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT);
+        out.writeInt(entries.size());
+        for (Entry entry : entries) {
+            CollisionSnapshot snapshot = entry.snapshot;
+            out.writeInt(entry.location.getRegions()[0]);
+            out.writeInt(snapshot.getPlane());
+            out.writeInt(snapshot.getBaseX());
+            out.writeInt(snapshot.getBaseY());
+            out.writeInt(snapshot.getExitsHash());
+            out.write(snapshot.getExits());
+
+            out.writeInt(entry.nodes.size());
+            for (WorldPoint node : entry.nodes) {
+                out.writeInt(node.getX());
+                out.writeInt(node.getY());
+                out.writeInt(node.getPlane());
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,460 @@
+package com.shilofishinghelper;
+
+import lombok.Getter;
+import lombok.Value;
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.Constants;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Searches over a scene's {@link Walkability} exits using packed tile indices ({@code x * SCENE_SIZE + y}):
+ * A* for a single target and breadth-first search for the nearest of several.
+ * <p>
+ * The queue, heap, parent and visited arrays are allocated once and reused; visited tiles are tracked with a
+ * generation stamp so nothing has to be cleared between searches. The only allocation per search is the
+ * returned path. Not thread-safe.
+ */
+class PathFinder {
+    static final int SCENE_SIZE = Constants.SCENE_SIZE;
+    /** Longest route, in steps, that any search will return. */
+    static final int MAX_PATH_LENGTH = 128;
+
+    private static final int TILE_COUNT = SCENE_SIZE * SCENE_SIZE;
+    private static final int CANCEL_CHECK_MASK = 511;
+    private static final int CLOSED = -1;
+    private static final BooleanSupplier NEVER_CANCELLED = () -> false;
+
+    // Each tile is enqueued at most once per search, so a queue the size of the scene never wraps.
+    private final int[] queue = new int[TILE_COUNT];
+    private final int[] parent = new int[TILE_COUNT];
+    private final int[] visited = new int[TILE_COUNT];
+    // Goal tiles of a multi-target search, stamped with the same generation as visited
+    private final int[] goal = new int[TILE_COUNT];
+    private final int[] goalTarget = new int[TILE_COUNT];
+    // A* open list: a binary heap of tile indices ordered by priority, with each tile's heap slot tracked
+    // so a shorter path can decrease its key in place. A tile is in the heap at most once.
+    private final int[] heap = new int[TILE_COUNT];
+    private final int[] heapSlot = new int[TILE_COUNT];
+    private final int[] priority = new int[TILE_COUNT];
+    private final int[] cost = new int[TILE_COUNT];
+    private int generation;
+
+    /** Number of tiles dequeued by the most recent search. */
+    @Getter
+    private int lastExpanded;
+
+    @Value
+    static class Result {
+        /** Index into the target list of the chosen target. */
+        int target;
+        List<WorldPoint> path;
+    }
+
+    /**
+     * Finds the shortest walkable path from {@code start} to any tile cardinally adjacent to {@code end}
+     * with A*. The returned path excludes {@code start} and ends on the adjacent tile; it is empty when no
+     * path of at most {@link #MAX_PATH_LENGTH} steps exists or when {@code start} is already adjacent.
+     * <p>
+     * The heuristic is the Manhattan distance to {@code end} minus one, which never overestimates the
+     * distance to the nearest adjacent tile and changes by at most one per step, so the first goal popped
+     * is as close as the one breadth-first search would find and no tile is ever expanded twice.
+     */
+    List<WorldPoint> findPath(byte[] exits, int baseX, int baseY, WorldPoint start, WorldPoint end) {
+        lastExpanded = 0;
+        if (start.getPlane() != end.getPlane()) {
+            return Collections.emptyList();
+        }
+
+        int sx = start.getX() - baseX;
+        int sy = start.getY() - baseY;
+        int ex = end.getX() - baseX;
+        int ey = end.getY() - baseY;
+
+        if (Math.abs(sx - ex) + Math.abs(sy - ey) == 1) {
+            return Collections.emptyList();
+        }
+
+        int h = heuristic(sx, sy, ex, ey);
+        if (!inScene(sx, sy) || h > MAX_PATH_LENGTH) {
+            return Collections.emptyList();
+        }
+
+        int stamp = nextGeneration();
+        int startIndex = sx * SCENE_SIZE + sy;
+        visited[startIndex] = stamp;
+        parent[startIndex] = -1;
+        cost[startIndex] = 0;
+        int size = push(startIndex, key(h, h), 0);
+
+        List<WorldPoint> path = search(exits, baseX, baseY, start.getPlane(), ex, ey, stamp, size, Integer.MAX_VALUE);
+        return path == null ? Collections.emptyList() : path;
+    }
+
+    /**
+     * Repairs a route by searching from every tile of {@code prefix} at once, each seeded with its distance
+     * along the prefix ({@code prefix.get(0)} is the start, at 0). The result is the shortest route that
+     * follows the prefix for a while and then leaves it, which for a target that moved a few tiles or an
+     * edge that was blocked is usually found after very few expansions.
+     *
+     * @return the route from {@code prefix.get(0)} in the same form as {@link #findPath}, or {@code null}
+     * if no route was found within {@code budget} expanded tiles
+     */
+    List<WorldPoint> repair(byte[] exits, int baseX, int baseY, List<WorldPoint> prefix, WorldPoint end, int budget) {
+        lastExpanded = 0;
+        int plane = end.getPlane();
+        int ex = end.getX() - baseX;
+        int ey = end.getY() - baseY;
+
+        int stamp = nextGeneration();
+        int size = 0;
+        int previous = -1;
+        for (int i = 0; i < prefix.size(); i++) {
+            WorldPoint tile = prefix.get(i);
+            int x = tile.getX() - baseX;
+            int y = tile.getY() - baseY;
+            if (tile.getPlane() != plane || !inScene(x, y)) {
+                return null;
+            }
+
+            int index = x * SCENE_SIZE + y;
+            int h = heuristic(x, y, ex, ey);
+            if (visited[index] == stamp || i + h > MAX_PATH_LENGTH) {
+                break;
+            }
+
+            visited[index] = stamp;
+            parent[index] = previous;
+            cost[index] = i;
+            size = push(index, key(i + h, h), size);
+            previous = index;
+        }
+
+        return size == 0 ? null : search(exits, baseX, baseY, plane, ex, ey, stamp, size, budget);
+    }
+
+    /**
+     * Runs A* from the tiles already in the open list until a tile adjacent to {@code (ex, ey)} is popped.
+     *
+     * @return the path to that tile, or {@code null} if the open list ran out or {@code budget} was spent
+     */
+    private List<WorldPoint> search(byte[] exits, int baseX, int baseY, int plane, int ex, int ey, int stamp, int size,
+                                    int budget) {
+        int expanded = 0;
+        while (size > 0) {
+            if (expanded == budget) {
+                lastExpanded = expanded;
+                return null;
+            }
+
+            int current = heap[0];
+            size = pop(size);
+            expanded++;
+
+            int x = current / SCENE_SIZE;
+            int y = current % SCENE_SIZE;
+
+            if (Math.abs(x - ex) + Math.abs(y - ey) == 1) {
+                lastExpanded = expanded;
+                return buildPath(current, baseX, baseY, plane);
+            }
+
+            int g = cost[current] + 1;
+            if ((exits[current] & Walkability.WEST) != 0) size = relax(current, current - SCENE_SIZE, g, x - 1, y, ex, ey, stamp, size);
+            if ((exits[current] & Walkability.EAST) != 0) size = relax(current, current + SCENE_SIZE, g, x + 1, y, ex, ey, stamp, size);
+            if ((exits[current] & Walkability.SOUTH) != 0) size = relax(current, current - 1, g, x, y - 1, ex, ey, stamp, size);
+            if ((exits[current] & Walkability.NORTH) != 0) size = relax(current, current + 1, g, x, y + 1, ex, ey, stamp, size);
+        }
+
+        lastExpanded = expanded;
+        return null;
+    }
+
+    /**
+     * Runs a single search from {@code start} that treats the cardinally adjacent tiles of every target as
+     * goals. The chosen target is the one with the shortest path; ties go to the lowest index, so the result
+     * is the same as searching each target separately and keeping the first shortest.
+     *
+     * @return the chosen target and its path, or {@code null} if no target is reachable
+     */
+    Result findNearest(byte[] exits, int baseX, int baseY, WorldPoint start, List<WorldPoint> targets) {
+        return findNearest(exits, baseX, baseY, start, targets, NEVER_CANCELLED);
+    }
+
+    /**
+     * Same as {@link #findNearest(byte[], int, int, WorldPoint, List)}, but polls {@code cancelled}
+     * periodically and gives up with {@code null} once it returns true.
+     */
+    Result findNearest(byte[] exits, int baseX, int baseY, WorldPoint start, List<WorldPoint> targets,
+                       BooleanSupplier cancelled) {
+        int plane = start.getPlane();
+        int sx = start.getX() - baseX;
+        int sy = start.getY() - baseY;
+        lastExpanded = 0;
+
+        if (!inScene(sx, sy)) {
+            for (int t = 0; t < targets.size(); t++) {
+                WorldPoint target = targets.get(t);
+                if (target != null && target.getPlane() == plane
+                        && Math.abs(start.getX() - target.getX()) + Math.abs(start.getY() - target.getY()) == 1) {
+                    return new Result(t, Collections.emptyList());
+                }
+            }
+            return null;
+        }
+
+        int stamp = nextGeneration();
+        int goalCount = 0;
+        for (int t = 0; t < targets.size(); t++) {
+            WorldPoint target = targets.get(t);
+            if (target == null || target.getPlane() != plane) {
+                continue;
+            }
+
+            int tx = target.getX() - baseX;
+            int ty = target.getY() - baseY;
+            goalCount += markGoal(tx - 1, ty, t, stamp);
+            goalCount += markGoal(tx + 1, ty, t, stamp);
+            goalCount += markGoal(tx, ty - 1, t, stamp);
+            goalCount += markGoal(tx, ty + 1, t, stamp);
+        }
+
+        if (goalCount == 0) {
+            return null;
+        }
+
+        int head = 0;
+        int tail = 0;
+
+        int startIndex = sx * SCENE_SIZE + sy;
+        queue[tail++] = startIndex;
+        visited[startIndex] = stamp;
+        parent[startIndex] = -1;
+
+        // Search level by level so every goal at the shortest depth is seen before picking one
+        int levelEnd = tail;
+        int depth = 0;
+        int bestTile = -1;
+        int bestTarget = Integer.MAX_VALUE;
+
+        while (head < tail) {
+            if (head == levelEnd) {
+                if (bestTile != -1)
+                    break;
+                levelEnd = tail;
+                depth++;
+            }
+
+            if ((head & CANCEL_CHECK_MASK) == 0 && cancelled.getAsBoolean()) {
+                lastExpanded = head;
+                return null;
+            }
+
+            int current = queue[head++];
+            if (goal[current] == stamp && goalTarget[current] < bestTarget) {
+                bestTarget = goalTarget[current];
+                bestTile = current;
+            }
+
+            if (bestTile != -1)
+                continue;
+
+            // Tiles at this depth are reached in exactly depth steps
+            if (depth >= MAX_PATH_LENGTH)
+                continue;
+
+            if ((exits[current] & Walkability.WEST) != 0) tail = enqueue(current, current - SCENE_SIZE, stamp, tail);
+            if ((exits[current] & Walkability.EAST) != 0) tail = enqueue(current, current + SCENE_SIZE, stamp, tail);
+            if ((exits[current] & Walkability.SOUTH) != 0) tail = enqueue(current, current - 1, stamp, tail);
+            if ((exits[current] & Walkability.NORTH) != 0) tail = enqueue(current, current + 1, stamp, tail);
+        }
+
+        lastExpanded = head;
+        if (bestTile == -1) {
+            return null;
+        }
+
+        return new Result(bestTarget, buildPath(bestTile, baseX, baseY, plane));
+    }
+
+    private int markGoal(int x, int y, int target, int stamp) {
+        if (!inScene(x, y)) {
+            return 0;
+        }
+
+        int index = x * SCENE_SIZE + y;
+        if (goal[index] == stamp) {
+            // Keep the lowest target index when spots share an adjacent tile
+            goalTarget[index] = Math.min(goalTarget[index], target);
+            return 0;
+        }
+
+        goal[index] = stamp;
+        goalTarget[index] = target;
+        return 1;
+    }
+
+    private int enqueue(int from, int to, int stamp, int tail) {
+        if (visited[to] == stamp) {
+            return tail;
+        }
+
+        visited[to] = stamp;
+        parent[to] = from;
+        queue[tail] = to;
+        return tail + 1;
+    }
+
+    private int relax(int from, int to, int g, int x, int y, int ex, int ey, int stamp, int size) {
+        int h = heuristic(x, y, ex, ey);
+        if (g + h > MAX_PATH_LENGTH) {
+            return size;
+        }
+
+        if (visited[to] == stamp) {
+            // Already closed, or already open with a path at least as short
+            if (heapSlot[to] == CLOSED || cost[to] <= g) {
+                return size;
+            }
+
+            cost[to] = g;
+            parent[to] = from;
+            priority[to] = key(g + h, h);
+            siftUp(heapSlot[to]);
+            return size;
+        }
+
+        visited[to] = stamp;
+        cost[to] = g;
+        parent[to] = from;
+        return push(to, key(g + h, h), size);
+    }
+
+    /**
+     * Orders by estimated total length, then prefers the tile closer to the target so equal-length
+     * candidates are finished depth-first. {@code h} never exceeds twice the scene size, so it fits below.
+     */
+    private static int key(int f, int h) {
+        return (f << 9) | h;
+    }
+
+    private static int heuristic(int x, int y, int ex, int ey) {
+        return Math.max(0, Math.abs(x - ex) + Math.abs(y - ey) - 1);
+    }
+
+    private int push(int tile, int key, int size) {
+        priority[tile] = key;
+        heap[size] = tile;
+        heapSlot[tile] = size;
+        siftUp(size);
+        return size + 1;
+    }
+
+    private int pop(int size) {
+        heapSlot[heap[0]] = CLOSED;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            heapSlot[heap[0]] = 0;
+            siftDown(0, size);
+        }
+        return size;
+    }
+
+    private void siftUp(int slot) {
+        int tile = heap[slot];
+        int key = priority[tile];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >>> 1;
+            int parentTile = heap[parentSlot];
+            if (priority[parentTile] <= key)
+                break;
+            heap[slot] = parentTile;
+            heapSlot[parentTile] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = tile;
+        heapSlot[tile] = slot;
+    }
+
+    private void siftDown(int slot, int size) {
+        int tile = heap[slot];
+        int key = priority[tile];
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && priority[heap[child + 1]] < priority[heap[child]])
+                child++;
+            if (priority[heap[child]] >= key)
+                break;
+            heap[slot] = heap[child];
+            heapSlot[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = tile;
+        heapSlot[tile] = slot;
+    }
+
+    private List<WorldPoint> buildPath(int end, int baseX, int baseY, int plane) {
+        int length = 0;
+        for (int i = end; parent[i] != -1; i = parent[i]) {
+            length++;
+        }
+
+        WorldPoint[] tiles = new WorldPoint[length];
+        int i = end;
+        for (int n = length - 1; n >= 0; n--) {
+            tiles[n] = new WorldPoint(baseX + i / SCENE_SIZE, baseY + i % SCENE_SIZE, plane);
+            i = parent[i];
+        }
+
+        return Arrays.asList(tiles);
+    }
+
+    private int nextGeneration() {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            Arrays.fill(goal, 0);
+            generation = 1;
+        }
+        return generation;
+    }
+
+    static boolean inScene(int x, int y) {
+        return x >= 0 && y >= 0 && x < SCENE_SIZE && y < SCENE_SIZE;
+    }
+
+    /**
+     * Decodes the collision flags of both tiles for a single step. Searches use the precomputed
+     * {@link Walkability} exits instead; this is what they are built from.
+     */
+    static boolean canMove(int[][] flags, int x, int y, int dx, int dy) {
+        int destX = x + dx;
+        int destY = y + dy;
+
+        if (!inScene(destX, destY))
+            return false;
+
+        int src = flags[x][y];
+        int dst = flags[destX][destY];
+
+        if ((dst & (CollisionDataFlag.BLOCK_MOVEMENT_FULL | CollisionDataFlag.BLOCK_MOVEMENT_OBJECT)) != 0)
+            return false;
+
+        if (dx == -1 && ((src & CollisionDataFlag.BLOCK_MOVEMENT_WEST) != 0 || (dst & CollisionDataFlag.BLOCK_MOVEMENT_EAST) != 0))
+            return false;
+        if (dx == 1 && ((src & CollisionDataFlag.BLOCK_MOVEMENT_EAST) != 0 || (dst & CollisionDataFlag.BLOCK_MOVEMENT_WEST) != 0))
+            return false;
+        if (dy == -1 && ((src & CollisionDataFlag.BLOCK_MOVEMENT_SOUTH) != 0 || (dst & CollisionDataFlag.BLOCK_MOVEMENT_NORTH) != 0))
+            return false;
+        if (dy == 1 && ((src & CollisionDataFlag.BLOCK_MOVEMENT_NORTH) != 0 || (dst & CollisionDataFlag.BLOCK_MOVEMENT_SOUTH) != 0))
+            return false;
+
+        return true;
+    }
+}
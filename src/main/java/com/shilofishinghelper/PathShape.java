@@ -0,0 +1,62 @@
+package com.shilofishinghelper;
+
+import java.awt.Polygon;
+import java.awt.Shape;
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+
+/**
+ * The projected route merged into one shape that is drawn with one fill and one stroke per frame.
+ * <p>
+ * The tile polygons are appended to a single {@link Path2D}. In the {@link PathStyle#RIBBON} style that path
+ * is turned into an {@link Area}, which unions the tiles so only the outer border of the route is stroked.
+ * It is rebuilt only when the {@link TileProjectionCache} version or the style changes.
+ */
+class PathShape {
+    private final Path2D.Float tiles = new Path2D.Float(Path2D.WIND_NON_ZERO, 64 * 5);
+    private Shape shape = tiles;
+    private boolean empty = true;
+
+    private int projection = -1;
+    private PathStyle style;
+
+    /**
+     * Rebuilds the shape from the first {@code size} route polygons of {@code projectionCache} if they
+     * changed since the last call.
+     */
+    void update(TileProjectionCache projectionCache, int size, PathStyle style) {
+        if (projectionCache.getVersion() == projection && style == this.style) {
+            return;
+        }
+        projection = projectionCache.getVersion();
+        this.style = style;
+
+        tiles.reset();
+        empty = true;
+        for (int i = 0; i < size; i++) {
+            Polygon polygon = projectionCache.getPolygon(i);
+            if (polygon != null) {
+                tiles.append(polygon, false);
+                empty = false;
+            }
+        }
+
+        if (style == PathStyle.RIBBON && !empty) {
+            // Built straight from the path, so the union takes one pass over all tiles
+            shape = new Area(tiles);
+        } else {
+            shape = tiles;
+        }
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @return the shape to fill and then stroke
+     */
+    Shape getShape() {
+        return shape;
+    }
+}
@@ -0,0 +1,20 @@
+package com.shilofishinghelper;
+
+/**
+ * How the route is drawn on the ground.
+ */
+public enum PathStyle {
+    TILES("Tiles"),
+    RIBBON("Ribbon");
+
+    private final String name;
+
+    PathStyle(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,204 @@
+package com.shilofishinghelper;
+
+import lombok.AllArgsConstructor;
+import net.runelite.api.coords.WorldPoint;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs nearest-spot searches on a dedicated background thread.
+ * <p>
+ * The client thread submits a request holding an immutable {@link CollisionSnapshot}, the start tile and
+ * the spot tiles. Only the newest request is ever run: submitting a new one drops any request still waiting
+ * and cancels the one in progress. Finished routes are published through an atomic slot that always holds
+ * the route with the highest version, so readers never block, and the listener is told so the client thread
+ * can adopt the route once it has checked it still matches.
+ */
+@Singleton
+class PathfindingWorker {
+    private final PerfStats perfStats;
+
+    // Only touched from the worker thread
+    private final PathFinder pathFinder = new PathFinder();
+
+    private final AtomicLong latestVersion = new AtomicLong();
+    private final AtomicReference<Request> pending = new AtomicReference<>();
+    private final AtomicReference<Result> published = new AtomicReference<>();
+    private volatile Runnable onPublished;
+
+    private ExecutorService executor;
+    // Whether start() created the executor, and so stop() shuts it down
+    private boolean ownsExecutor;
+    private Request lastSubmitted;
+
+    @Inject
+    PathfindingWorker(PerfStats perfStats) {
+        this.perfStats = perfStats;
+    }
+
+    @AllArgsConstructor
+    private static class Request {
+        final long version;
+        final CollisionSnapshot snapshot;
+        final WorldPoint start;
+        final List<WorldPoint> targets;
+        final long targetKey;
+    }
+
+    @AllArgsConstructor
+    private static class Result {
+        final Request request;
+        final Route route;
+    }
+
+    /**
+     * Starts the worker on its own thread, unless it is already running.
+     */
+    void start() {
+        if (executor != null) {
+            return;
+        }
+
+        start(Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "shilo-fishing-pathfinder");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        ownsExecutor = true;
+    }
+
+    /**
+     * Starts the worker on the given executor, which stays the caller's to shut down; tests pass a direct
+     * executor to make searches synchronous.
+     *
+     * @throws IllegalStateException if the worker is already running
+     */
+    void start(ExecutorService executor) {
+        if (this.executor != null) {
+            throw new IllegalStateException("Pathfinding worker already started");
+        }
+        this.executor = executor;
+        ownsExecutor = false;
+    }
+
+    void stop() {
+        if (executor != null && ownsExecutor) {
+            executor.shutdownNow();
+        }
+        executor = null;
+        clear();
+    }
+
+    /**
+     * Sets what to run, on the worker thread, after each route is published.
+     */
+    void setOnPublished(Runnable onPublished) {
+        this.onPublished = onPublished;
+    }
+
+    /**
+     * Drops pending work and the published route, e.g. when leaving the area. The version is bumped first,
+     * so a search still running cannot publish afterwards.
+     */
+    void clear() {
+        latestVersion.incrementAndGet();
+        pending.set(null);
+        published.set(null);
+        lastSubmitted = null;
+    }
+
+    /**
+     * Drops the queued search and cancels the running one because the client thread has produced a newer
+     * route itself.
+     *
+     * @return a version newer than every route published so far
+     */
+    long supersede() {
+        pending.set(null);
+        lastSubmitted = null;
+        return latestVersion.incrementAndGet();
+    }
+
+    /**
+     * @return the published route if it was searched from exactly this snapshot, start and target key,
+     * otherwise {@code null}
+     */
+    Route getResult(CollisionSnapshot snapshot, WorldPoint start, long targetKey) {
+        Result result = published.get();
+        if (result == null) {
+            return null;
+        }
+
+        Request request = result.request;
+        if (request.snapshot != snapshot || request.targetKey != targetKey || !request.start.equals(start)) {
+            return null;
+        }
+        return result.route;
+    }
+
+    /**
+     * Requests a nearest-spot search. Repeating the request that is already queued or running is a no-op.
+     */
+    void submit(CollisionSnapshot snapshot, WorldPoint start, List<WorldPoint> targets, long targetKey) {
+        if (executor == null || snapshot == null) {
+            return;
+        }
+
+        Request last = lastSubmitted;
+        if (last != null && last.snapshot == snapshot && last.targetKey == targetKey && last.start.equals(start)) {
+            return;
+        }
+
+        Request request = new Request(latestVersion.incrementAndGet(), snapshot, start, new ArrayList<>(targets), targetKey);
+        lastSubmitted = request;
+        if (pending.getAndSet(request) == null) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        Request request;
+        while ((request = pending.getAndSet(null)) != null) {
+            run(request);
+        }
+    }
+
+    private void run(Request request) {
+        long version = request.version;
+        CollisionSnapshot snapshot = request.snapshot;
+        PathFinder.Result nearest = pathFinder.findNearest(snapshot.getExits(), snapshot.getBaseX(), snapshot.getBaseY(),
+                request.start, request.targets, () -> latestVersion.get() != version);
+        perfStats.recordSearch(pathFinder.getLastExpanded(), nearest == null ? 0 : nearest.getPath().size());
+
+        if (latestVersion.get() != version) {
+            // Superseded while searching
+            return;
+        }
+
+        Route route = nearest == null
+                ? Route.unreachable(request.start, request.targetKey, version)
+                : Route.of(request.start, request.targetKey, nearest.getTarget(), nearest.getPath(), version);
+        Result result = new Result(request, route);
+        published.accumulateAndGet(result,
+                (current, next) -> current == null || next.route.getVersion() > current.route.getVersion() ? next : current);
+
+        if (latestVersion.get() != version) {
+            // Cleared or superseded between the check above and publishing; clear() bumps the version before
+            // it empties the slot, so whichever of the two ran last, the route does not stay published
+            published.compareAndSet(result, null);
+            return;
+        }
+
+        Runnable listener = onPublished;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.shilofishinghelper;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Optional, low-overhead instrumentation for the plugin's hot paths: tick and overlay timings, bytes
+ * allocated per overlay render, and search sizes. Everything is a no-op while disabled.
+ * <p>
+ * Timings and allocations are recorded on the client thread; search statistics may also come from the
+ * pathfinding worker, so all counters are atomic.
+ */
+@Singleton
+class PerfStats {
+    enum Section {
+        TICK("Game tick"),
+        PATH_OVERLAY("Path overlay"),
+        INVENTORY_OVERLAY("Inventory overlay"),
+        IDLE_OVERLAY("Idle overlay");
+
+        @Getter
+        private final String label;
+
+        Section(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Power-of-two bucketed histogram of non-negative values.
+     */
+    static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long value) {
+            value = Math.max(0, value);
+            buckets.incrementAndGet(value == 0 ? 0 : 64 - Long.numberOfLeadingZeros(value) - 1);
+            count.incrementAndGet();
+            sum.addAndGet(value);
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        long count() {
+            return count.get();
+        }
+
+        double mean() {
+            long n = count.get();
+            return n == 0 ? 0 : (double) sum.get() / n;
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        /**
+         * @return an upper bound for the given percentile (0..1), accurate to a factor of two
+         */
+        long percentile(double p) {
+            long n = count.get();
+            if (n == 0) {
+                return 0;
+            }
+
+            long rank = (long) Math.ceil(p * n);
+            long seen = 0;
+            for (int b = 0; b < buckets.length(); b++) {
+                seen += buckets.get(b);
+                if (seen >= rank) {
+                    return b >= 62 ? Long.MAX_VALUE : (1L << (b + 1)) - 1;
+                }
+            }
+            return max.get();
+        }
+
+        void reset() {
+            for (int b = 0; b < buckets.length(); b++) {
+                buckets.set(b, 0);
+            }
+            count.set(0);
+            sum.set(0);
+            max.set(0);
+        }
+    }
+
+    private final RouteCache routeCache;
+    private final TileProjectionCache projectionCache;
+    private final com.sun.management.ThreadMXBean allocationBean;
+
+    private final Histogram[] timings = new Histogram[Section.values().length];
+    private final Histogram[] allocations = new Histogram[Section.values().length];
+    private final long[] allocationStart = new long[Section.values().length];
+
+    @Getter
+    private final Histogram searchExpansions = new Histogram();
+    @Getter
+    private final Histogram pathLengths = new Histogram();
+
+    @Getter
+    @Setter
+    private volatile boolean enabled;
+
+    @Inject
+    PerfStats(RouteCache routeCache, TileProjectionCache projectionCache) {
+        this.routeCache = routeCache;
+        this.projectionCache = projectionCache;
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocationBean = null;
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            allocationBean = (com.sun.management.ThreadMXBean) bean;
+        }
+        this.allocationBean = allocationBean;
+
+        for (int i = 0; i < timings.length; i++) {
+            timings[i] = new Histogram();
+            allocations[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Starts timing a section on the current thread.
+     *
+     * @return the value to pass to {@link #end(Section, long)}, or 0 when disabled
+     */
+    long begin(Section section) {
+        if (!enabled) {
+            return 0;
+        }
+
+        if (allocationBean != null) {
+            allocationStart[section.ordinal()] = allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return System.nanoTime();
+    }
+
+    void end(Section section, long begin) {
+        if (!enabled || begin == 0) {
+            return;
+        }
+
+        timings[section.ordinal()].record(System.nanoTime() - begin);
+        if (allocationBean != null) {
+            long allocated = allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            allocations[section.ordinal()].record(allocated - allocationStart[section.ordinal()]);
+        }
+    }
+
+    void recordSearch(int expandedNodes, int pathLength) {
+        if (!enabled) {
+            return;
+        }
+
+        searchExpansions.record(expandedNodes);
+        pathLengths.record(pathLength);
+    }
+
+    Histogram getTiming(Section section) {
+        return timings[section.ordinal()];
+    }
+
+    Histogram getAllocation(Section section) {
+        return allocations[section.ordinal()];
+    }
+
+    boolean isAllocationTracked() {
+        return allocationBean != null;
+    }
+
+    /**
+     * @return route cache hits as a percentage of lookups
+     */
+    double routeCacheHitRate() {
+        return percent(routeCache.getHits(), routeCache.getHits() + routeCache.getMisses());
+    }
+
+    /**
+     * @return frames that reused the previous projection as a percentage of drawn frames
+     */
+    double projectionSkipRate() {
+        long skipped = projectionCache.getSkippedFrames();
+        return percent(skipped, skipped + projectionCache.getProjectedFrames());
+    }
+
+    void reset() {
+        for (int i = 0; i < timings.length; i++) {
+            timings[i].reset();
+            allocations[i].reset();
+        }
+        searchExpansions.reset();
+        pathLengths.reset();
+        routeCache.resetCounters();
+        projectionCache.resetCounters();
+    }
+
+    String summary() {
+        StringBuilder sb = new StringBuilder("Shilo Fishing Helper performance:");
+        for (Section section : Section.values()) {
+            Histogram timing = getTiming(section);
+            sb.append(String.format("%n  %s: n=%d mean=%.1fus p95<=%.1fus max=%.1fus", section.getLabel(),
+                    timing.count(), timing.mean() / 1000, timing.percentile(0.95) / 1000.0, timing.max() / 1000.0));
+            if (allocationBean != null && section != Section.TICK) {
+                sb.append(String.format(", alloc mean=%.0fB max=%dB", getAllocation(section).mean(), getAllocation(section).max()));
+            }
+        }
+        sb.append(String.format("%n  Searches: n=%d mean expanded=%.0f mean path=%.1f", searchExpansions.count(),
+                searchExpansions.mean(), pathLengths.mean()));
+        sb.append(String.format("%n  Route cache: %d hits, %d misses (%.0f%%), %d invalidations", routeCache.getHits(),
+                routeCache.getMisses(), routeCacheHitRate(), routeCache.getInvalidations()));
+        sb.append(String.format("%n  Projection: %.0f%% of frames skipped, %d tiles projected, %d reused", projectionSkipRate(),
+                projectionCache.getProjectedTiles(), projectionCache.getReusedTiles()));
+        return sb.toString();
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : 100.0 * part / total;
+    }
+}
@@ -0,0 +1,106 @@
+package com.shilofishinghelper;
+
+import lombok.Getter;
+
+import java.awt.*;
+
+/**
+ * Immutable snapshot of the plugin config together with the colours, stroke and font the overlays draw
+ * with. Built on startup and whenever the config group changes, so rendering never calls the config proxy
+ * or allocates drawing resources.
+ */
+@Getter
+class RenderSettings {
+    private static final int IDLE_ALPHA = 70;
+    // The border covers far less of the view, so it can be more opaque
+    private static final int IDLE_BORDER_ALPHA = 150;
+    // One pulse fades in and out over this many alpha steps
+    private static final int IDLE_PULSE_STEPS = 12;
+    private static final int OUTLINE_ALPHA_BOOST = 80;
+
+    private static final Color DEPOSIT_PATH_COLOR = new Color(255, 215, 0, 140); // gold with alpha
+    private static final Color DEPOSIT_HIGHLIGHT_COLOR = new Color(255, 215, 0, 200);
+
+    // Inventory labels for every possible free slot count, so drawing the count never builds a string
+    private static final String[] SLOT_LABELS = new String[InventoryState.INVENTORY_SIZE + 1];
+
+    static {
+        for (int i = 0; i < SLOT_LABELS.length; i++) {
+            SLOT_LABELS[i] = String.valueOf(i);
+        }
+    }
+
+    private final boolean showPath;
+    private final boolean showDepositPath;
+    private final boolean showInventoryCount;
+    private final boolean showIdleOverlay;
+
+    private final PathStyle pathStyle;
+    private final Color pathFill;
+    private final Color pathOutline;
+    private final Color depositFill;
+    private final Color depositOutline;
+    private final Color depositHighlight;
+    private final Stroke pathStroke;
+    private final IdleOverlayStyle idleStyle;
+    private final Color idleColor;
+    private final Color idleBorderColor;
+    // Border colour for each pulse step, null where the step is fully transparent
+    private final Color[] idlePulse;
+    private final Font inventoryFont;
+
+    RenderSettings(ShiloFishingConfig config) {
+        showPath = config.showPath();
+        showDepositPath = config.showDepositPath();
+        showInventoryCount = config.showInventoryCount();
+        showIdleOverlay = config.showRedScreen();
+
+        pathStyle = config.pathStyle() == null ? PathStyle.TILES : config.pathStyle();
+
+        Color path = config.pathColor();
+        if (path == null) {
+            path = new Color(0, 255, 255, 200);
+        }
+        pathFill = path;
+        pathOutline = outlineOf(path);
+        depositFill = DEPOSIT_PATH_COLOR;
+        depositOutline = outlineOf(DEPOSIT_PATH_COLOR);
+        depositHighlight = DEPOSIT_HIGHLIGHT_COLOR;
+        pathStroke = new BasicStroke(2);
+
+        // Always use the user’s color but apply fixed opacity
+        Color base = config.idleScreenColor();
+        if (base == null) {
+            base = Color.RED;
+        }
+        idleStyle = config.idleOverlayStyle() == null ? IdleOverlayStyle.FULL : config.idleOverlayStyle();
+        idleColor = new Color(base.getRed(), base.getGreen(), base.getBlue(), IDLE_ALPHA);
+        idleBorderColor = new Color(base.getRed(), base.getGreen(), base.getBlue(), IDLE_BORDER_ALPHA);
+        idlePulse = new Color[IDLE_PULSE_STEPS];
+        for (int step = 0; step < IDLE_PULSE_STEPS; step++) {
+            // Triangle wave: transparent at step 0, fully on half way through
+            int level = Math.min(step, IDLE_PULSE_STEPS - step);
+            int alpha = IDLE_BORDER_ALPHA * level / (IDLE_PULSE_STEPS / 2);
+            idlePulse[step] = alpha == 0 ? null : new Color(base.getRed(), base.getGreen(), base.getBlue(), alpha);
+        }
+
+        inventoryFont = new Font("Arial", Font.BOLD, 16);
+    }
+
+    static String slotLabel(int freeSlots) {
+        return SLOT_LABELS[Math.max(0, Math.min(freeSlots, SLOT_LABELS.length - 1))];
+    }
+
+    static Color slotColor(int freeSlots) {
+        return freeSlots > 5 ? Color.WHITE : (freeSlots > 0 ? Color.YELLOW : Color.RED);
+    }
+
+    private static Color outlineOf(Color color) {
+        return new Color(
+                color.getRed(),
+                color.getGreen(),
+                color.getBlue(),
+                Math.min(255, color.getAlpha() + OUTLINE_ALPHA_BOOST)
+        );
+    }
+}
@@ -0,0 +1,50 @@
+package com.shilofishinghelper;
+
+import lombok.Value;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable walking route computed on a game tick, together with the key it was computed for.
+ */
+@Value
+class Route {
+    /** Tile the route starts from; not part of {@link #tiles}. */
+    WorldPoint start;
+    /** Identifies the target or set of targets the route was searched for. */
+    long targetKey;
+    /** Index of the chosen target for multi-target searches, or -1 if none was reachable. */
+    int target;
+    List<WorldPoint> tiles;
+    /**
+     * Orders routes against the background worker: request versions for its routes, a superseding version
+     * for routes the client thread produced instead, 0 for routes nothing races with.
+     */
+    long version;
+
+    static Route of(WorldPoint start, long targetKey, int target, List<WorldPoint> tiles) {
+        return of(start, targetKey, target, tiles, 0);
+    }
+
+    static Route of(WorldPoint start, long targetKey, int target, List<WorldPoint> tiles, long version) {
+        return new Route(start, targetKey, target, Collections.unmodifiableList(tiles), version);
+    }
+
+    static Route unreachable(WorldPoint start, long targetKey, long version) {
+        return new Route(start, targetKey, -1, Collections.emptyList(), version);
+    }
+
+    Route withVersion(long version) {
+        return new Route(start, targetKey, target, tiles, version);
+    }
+
+    boolean isEmpty() {
+        return tiles.isEmpty();
+    }
+
+    static long key(WorldPoint point) {
+        return ((long) point.getPlane() << 40) | ((long) point.getX() << 20) | point.getY();
+    }
+}
@@ -0,0 +1,69 @@
+package com.shilofishinghelper;
+
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import javax.inject.Singleton;
+
+/**
+ * Keeps the routes computed on recent game ticks so they are only searched again when the start tile,
+ * the target or the collision data changes.
+ */
+@Singleton
+class RouteCache {
+    private static final int CAPACITY = 4;
+
+    private final Route[] entries = new Route[CAPACITY];
+    private int nextSlot;
+
+    @Getter
+    private int hits;
+    @Getter
+    private int misses;
+    @Getter
+    private int invalidations;
+
+    /**
+     * @return the cached route from {@code start} for {@code targetKey}, or {@code null} on a miss
+     */
+    Route get(WorldPoint start, long targetKey) {
+        for (Route route : entries) {
+            if (route != null && route.getTargetKey() == targetKey && route.getStart().equals(start)) {
+                hits++;
+                return route;
+            }
+        }
+
+        misses++;
+        return null;
+    }
+
+    void put(Route route) {
+        for (int i = 0; i < CAPACITY; i++) {
+            Route existing = entries[i];
+            if (existing != null && existing.getTargetKey() == route.getTargetKey()) {
+                entries[i] = route;
+                return;
+            }
+        }
+
+        entries[nextSlot] = route;
+        nextSlot = (nextSlot + 1) % CAPACITY;
+    }
+
+    /**
+     * Drops every cached route. Called on scene loads, plane changes and collision changes.
+     */
+    void invalidate() {
+        for (int i = 0; i < CAPACITY; i++) {
+            entries[i] = null;
+        }
+        invalidations++;
+    }
+
+    void resetCounters() {
+        hits = 0;
+        misses = 0;
+        invalidations = 0;
+    }
+}
@@ -0,0 +1,205 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.coords.WorldPoint;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the spot route from the previous tick up to date so that a full search is only needed after a
+ * scene load or when the old route cannot be reused.
+ * <ul>
+ *     <li>When the player walks along the route, the walked prefix is cut off. A suffix of a shortest route
+ *     is itself a shortest route, so nothing has to be searched.</li>
+ *     <li>When the target spot moves a few tiles, or collision changes only close edges and break the
+ *     route, the route is repaired with a search seeded from the still usable prefix, within a budget.</li>
+ * </ul>
+ * When the set of spots changed, for example because a spot spawned, the derived route is only kept if no
+ * other spot can be closer; otherwise the full search decides.
+ */
+@Singleton
+class RoutePlanner {
+    /** Furthest a spot may move, in tiles, and still be treated as the same target. */
+    static final int MAX_SPOT_SHIFT = 4;
+    /** Tiles a repair may expand before giving up and leaving it to a full search. */
+    static final int REPAIR_BUDGET = 256;
+
+    private final PerfStats perfStats;
+    private final PathFinder pathFinder = new PathFinder();
+
+    private Route previous;
+    private CollisionSnapshot previousSnapshot;
+    private WorldPoint previousTarget;
+
+    @Inject
+    RoutePlanner(PerfStats perfStats) {
+        this.perfStats = perfStats;
+    }
+
+    /**
+     * Remembers the route adopted on this tick as the base for the next one.
+     */
+    void accept(Route route, CollisionSnapshot snapshot, List<WorldPoint> spots) {
+        if (route == null || snapshot == null || route.getTarget() < 0 || route.getTarget() >= spots.size()) {
+            clear();
+            return;
+        }
+
+        previous = route;
+        previousSnapshot = snapshot;
+        previousTarget = spots.get(route.getTarget());
+    }
+
+    void clear() {
+        previous = null;
+        previousSnapshot = null;
+        previousTarget = null;
+    }
+
+    /**
+     * Derives a route from {@code start} to the spot the previous route was heading to.
+     *
+     * @return the route with version 0, or {@code null} if a full search is needed
+     */
+    Route plan(CollisionSnapshot snapshot, WorldPoint start, List<WorldPoint> spots, long spotsKey) {
+        Route route = previous;
+        CollisionSnapshot before = previousSnapshot;
+        if (route == null || snapshot == null || before.getPlane() != snapshot.getPlane()
+                || before.getBaseX() != snapshot.getBaseX() || before.getBaseY() != snapshot.getBaseY()) {
+            return null;
+        }
+
+        // An opened door can make a much shorter route, which only a full search finds
+        if (before != snapshot && anyOpened(before.getExits(), snapshot.getExits())) {
+            return null;
+        }
+
+        int target = route.getTargetKey() == spotsKey ? route.getTarget() : findMovedTarget(spots);
+        if (target < 0) {
+            return null;
+        }
+
+        List<WorldPoint> remaining = remainingFrom(route, start);
+        if (remaining == null) {
+            return null;
+        }
+
+        // With the same spots, a suffix of the route to the nearest spot still leads to the nearest spot
+        boolean spotsChanged = route.getTargetKey() != spotsKey;
+        WorldPoint spot = spots.get(target);
+        int steps = remaining.size() - 1;
+        if (spotsChanged && closerSpotPossible(start, spots, target, steps)) {
+            return null;
+        }
+
+        if (before == snapshot && spot.equals(previousTarget)) {
+            return Route.of(start, spotsKey, target, remaining.subList(1, remaining.size()));
+        }
+
+        int reachable = lastReachable(snapshot.getExits(), snapshot.getBaseX(), snapshot.getBaseY(), remaining);
+        if (reachable == remaining.size() - 1 && isAdjacent(remaining.get(reachable), spot)) {
+            return Route.of(start, spotsKey, target, remaining.subList(1, remaining.size()));
+        }
+
+        List<WorldPoint> repaired = pathFinder.repair(snapshot.getExits(), snapshot.getBaseX(), snapshot.getBaseY(),
+                remaining.subList(0, reachable + 1), spot, REPAIR_BUDGET);
+        perfStats.recordSearch(pathFinder.getLastExpanded(), repaired == null ? 0 : repaired.size());
+        if (repaired == null || (spotsChanged && closerSpotPossible(start, spots, target, repaired.size()))) {
+            return null;
+        }
+        return Route.of(start, spotsKey, target, repaired);
+    }
+
+    /**
+     * A walk to a spot is never shorter than the Manhattan distance to the nearest tile next to it, so only
+     * a spot within that bound of {@code start} can beat a route of {@code steps}.
+     *
+     * @return whether a spot other than {@code target} may be fewer than {@code steps} steps away
+     */
+    private static boolean closerSpotPossible(WorldPoint start, List<WorldPoint> spots, int target, int steps) {
+        for (int i = 0; i < spots.size(); i++) {
+            WorldPoint spot = spots.get(i);
+            if (i == target || spot.getPlane() != start.getPlane()) {
+                continue;
+            }
+
+            int bound = Math.abs(spot.getX() - start.getX()) + Math.abs(spot.getY() - start.getY()) - 1;
+            if (bound < steps) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int findMovedTarget(List<WorldPoint> spots) {
+        int best = -1;
+        int bestDistance = MAX_SPOT_SHIFT + 1;
+        for (int i = 0; i < spots.size(); i++) {
+            WorldPoint spot = spots.get(i);
+            if (spot.getPlane() != previousTarget.getPlane()) {
+                continue;
+            }
+
+            int distance = Math.abs(spot.getX() - previousTarget.getX()) + Math.abs(spot.getY() - previousTarget.getY());
+            if (distance < bestDistance) {
+                best = i;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return {@code start} followed by the rest of {@code route} after it, or {@code null} if the player
+     * is not on the route
+     */
+    private static List<WorldPoint> remainingFrom(Route route, WorldPoint start) {
+        List<WorldPoint> tiles = route.getTiles();
+        int from;
+        if (start.equals(route.getStart())) {
+            from = 0;
+        } else {
+            int index = tiles.indexOf(start);
+            if (index < 0) {
+                return null;
+            }
+            from = index + 1;
+        }
+
+        List<WorldPoint> remaining = new ArrayList<>(tiles.size() - from + 1);
+        remaining.add(start);
+        remaining.addAll(tiles.subList(from, tiles.size()));
+        return remaining;
+    }
+
+    /**
+     * @return the index of the last tile that can still be reached by walking the path from its start
+     */
+    private static int lastReachable(byte[] exits, int baseX, int baseY, List<WorldPoint> path) {
+        for (int i = 0; i + 1 < path.size(); i++) {
+            WorldPoint from = path.get(i);
+            WorldPoint to = path.get(i + 1);
+            if (!Walkability.canMove(exits, from.getX() - baseX, from.getY() - baseY,
+                    to.getX() - from.getX(), to.getY() - from.getY())) {
+                return i;
+            }
+        }
+        return path.size() - 1;
+    }
+
+    private static boolean isAdjacent(WorldPoint tile, WorldPoint target) {
+        return tile.getPlane() == target.getPlane()
+                && Math.abs(tile.getX() - target.getX()) + Math.abs(tile.getY() - target.getY()) == 1;
+    }
+
+    private static boolean anyOpened(byte[] before, byte[] after) {
+        for (int i = 0; i < before.length; i++) {
+            if ((after[i] & ~before[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,289 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precomputed routes between the tiles the fishing spots of one location appear on and its deposit box.
+ * <p>
+ * Spots cycle through a small set of tiles, so the tiles listed in the {@link LocationProfile} and every
+ * tile a spot has been seen on become nodes, up to {@link #MAX_SPOT_TILES}. Each node gets a
+ * {@link DistanceField}, which gives the walking distance and route to it from any tile, and a matrix holds
+ * the distances between nodes. Once every current spot has a field, choosing the nearest spot is a lookup
+ * per spot instead of a search; until then the table does not answer.
+ * <p>
+ * The fields are built from one {@link CollisionSnapshot}. A newer snapshot with the same scene base, plane
+ * and exits is adopted as is; any other change drops them. Learned tiles are kept. A full-scene field is too
+ * much work for a tick, so missing fields are handed out as a {@link FieldBuild} to run on a background
+ * thread and are only used once it is finished. Tables {@link NavigationStore} restores are built on the
+ * executor before they are handed to the client thread.
+ */
+class RouteTable {
+    static final int MAX_SPOT_TILES = 16;
+
+    private static final int DEPOSIT = 0;
+    private static final int MAX_NODES = MAX_SPOT_TILES + 1;
+    private static final int UNREACHABLE = -1;
+
+    private final List<WorldPoint> nodes = new ArrayList<>(MAX_NODES);
+    private final DistanceField[] fields = new DistanceField[MAX_NODES];
+    private final int[][] distances = new int[MAX_NODES][MAX_NODES];
+    private CollisionSnapshot snapshot;
+    private FieldBuild building;
+
+    /**
+     * Fields missing for one snapshot. {@link #run} builds them and may be called on any thread;
+     * {@link #finish} installs them.
+     */
+    static final class FieldBuild {
+        private final CollisionSnapshot snapshot;
+        private final int[] nodes;
+        private final WorldPoint[] tiles;
+        private final DistanceField[] fields;
+
+        private FieldBuild(CollisionSnapshot snapshot, int[] nodes, WorldPoint[] tiles) {
+            this.snapshot = snapshot;
+            this.nodes = nodes;
+            this.tiles = tiles;
+            this.fields = new DistanceField[nodes.length];
+        }
+
+        void run() {
+            for (int i = 0; i < tiles.length; i++) {
+                fields[i] = DistanceField.build(snapshot.getExits(), snapshot.getBaseX(), snapshot.getBaseY(), tiles[i]);
+            }
+        }
+    }
+
+    RouteTable(LocationProfile location) {
+        nodes.add(location.getDepositTile());
+        List<WorldPoint> spotTiles = location.getSpotTiles();
+        for (int i = 0; i < spotTiles.size() && nodes.size() < MAX_NODES; i++) {
+            if (!nodes.contains(spotTiles.get(i))) {
+                nodes.add(spotTiles.get(i));
+            }
+        }
+        invalidate();
+    }
+
+    /**
+     * Learns the tiles of {@code spots} and drops the fields if {@code snapshot} has different collision
+     * data. Builds nothing; see {@link #startBuild}.
+     */
+    void update(CollisionSnapshot snapshot, List<WorldPoint> spots) {
+        if (snapshot == null) {
+            return;
+        }
+
+        if (snapshot != this.snapshot) {
+            if (!sameCollision(this.snapshot, snapshot)) {
+                invalidate();
+            }
+            this.snapshot = snapshot;
+        }
+
+        for (int i = 0; i < spots.size() && nodes.size() < MAX_NODES; i++) {
+            WorldPoint spot = spots.get(i);
+            if (!nodes.contains(spot)) {
+                nodes.add(spot);
+            }
+        }
+    }
+
+    /**
+     * Hands out the fields still missing for the current snapshot. Only one build is out at a time; tiles
+     * learned while it runs go into the next one.
+     *
+     * @return the build to run, or {@code null} if nothing is missing or a build is already running
+     */
+    FieldBuild startBuild() {
+        if (snapshot == null || building != null) {
+            return null;
+        }
+
+        int count = 0;
+        int[] missing = new int[nodes.size()];
+        for (int node = 0; node < nodes.size(); node++) {
+            if (fields[node] == null && nodes.get(node).getPlane() == snapshot.getPlane()) {
+                missing[count++] = node;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+
+        WorldPoint[] tiles = new WorldPoint[count];
+        for (int i = 0; i < count; i++) {
+            tiles[i] = nodes.get(missing[i]);
+        }
+        building = new FieldBuild(snapshot, Arrays.copyOf(missing, count), tiles);
+        return building;
+    }
+
+    /**
+     * Installs the fields of a finished build, unless the collision data changed since it started.
+     */
+    void finish(FieldBuild build) {
+        if (build != building) {
+            return;
+        }
+
+        building = null;
+        for (int i = 0; i < build.nodes.length; i++) {
+            fields[build.nodes[i]] = build.fields[i];
+            updateDistances(build.nodes[i]);
+        }
+    }
+
+    /**
+     * Builds every missing field on the calling thread, for a table no other thread can see yet.
+     */
+    void buildFields() {
+        FieldBuild build = startBuild();
+        if (build != null) {
+            build.run();
+            finish(build);
+        }
+    }
+
+    /**
+     * Picks the nearest of {@code spots} from {@code start} by table lookup. Spots at the same distance
+     * are ranked by their round trip to the deposit box, then by index.
+     *
+     * @return the route, an unreachable route if no spot is within {@link PathFinder#MAX_PATH_LENGTH}
+     * steps, or {@code null} if the table cannot answer and a search is needed
+     */
+    Route nearest(CollisionSnapshot snapshot, WorldPoint start, List<WorldPoint> spots, long spotsKey) {
+        if (snapshot == null || snapshot != this.snapshot || spots.isEmpty()) {
+            return null;
+        }
+
+        int best = -1;
+        int bestNode = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        int bestRoundTrip = Integer.MAX_VALUE;
+        for (int i = 0; i < spots.size(); i++) {
+            int node = nodes.indexOf(spots.get(i));
+            if (node < 0 || fields[node] == null) {
+                return null;
+            }
+
+            int distance = fields[node].distanceFrom(start);
+            if (distance == UNREACHABLE || distance > PathFinder.MAX_PATH_LENGTH) {
+                continue;
+            }
+
+            int roundTrip = roundTrip(node);
+            if (distance < bestDistance || (distance == bestDistance && roundTrip < bestRoundTrip)) {
+                best = i;
+                bestNode = node;
+                bestDistance = distance;
+                bestRoundTrip = roundTrip;
+            }
+        }
+
+        if (best < 0) {
+            return Route.unreachable(start, spotsKey, 0);
+        }
+        return Route.of(start, spotsKey, best, fields[bestNode].pathFrom(start));
+    }
+
+    /**
+     * @return the route from {@code start} to the deposit box, empty if it is unreachable, or {@code null}
+     * if the deposit field has not been built for {@code snapshot}
+     */
+    List<WorldPoint> depositPath(CollisionSnapshot snapshot, WorldPoint start) {
+        if (snapshot == null || snapshot != this.snapshot || fields[DEPOSIT] == null) {
+            return null;
+        }
+        return fields[DEPOSIT].pathFrom(start);
+    }
+
+    /**
+     * @return the deposit tile followed by the spot tiles, for saving
+     */
+    List<WorldPoint> getNodes() {
+        return new ArrayList<>(nodes);
+    }
+
+    /**
+     * @return the snapshot the fields were built from, or {@code null} until the deposit field is built for
+     * the current one
+     */
+    CollisionSnapshot getSnapshot() {
+        return fields[DEPOSIT] == null ? null : snapshot;
+    }
+
+    /**
+     * Drops the fields and abandons any build in progress. Learned tiles are kept.
+     */
+    private void invalidate() {
+        snapshot = null;
+        building = null;
+        Arrays.fill(fields, null);
+        for (int[] row : distances) {
+            Arrays.fill(row, UNREACHABLE);
+        }
+    }
+
+    /**
+     * @return steps from the deposit box to the node and back, or {@link Integer#MAX_VALUE} if either way
+     * is unreachable
+     */
+    private int roundTrip(int node) {
+        int there = distances[DEPOSIT][node];
+        int back = distances[node][DEPOSIT];
+        return there == UNREACHABLE || back == UNREACHABLE ? Integer.MAX_VALUE : there + back;
+    }
+
+    private void updateDistances(int node) {
+        distances[node][node] = 0;
+        for (int other = 0; other < nodes.size(); other++) {
+            if (other == node || fields[other] == null) {
+                continue;
+            }
+
+            distances[node][other] = distanceBetween(node, other);
+            distances[other][node] = distanceBetween(other, node);
+        }
+    }
+
+    /**
+     * Node tiles themselves are usually blocked (water, the deposit box), so routes between nodes run from
+     * the tiles next to one to the tiles next to the other.
+     */
+    private int distanceBetween(int from, int to) {
+        WorldPoint tile = nodes.get(from);
+        DistanceField field = fields[to];
+        int best = UNREACHABLE;
+        best = closer(best, field.distanceFrom(tile.dx(-1)));
+        best = closer(best, field.distanceFrom(tile.dx(1)));
+        best = closer(best, field.distanceFrom(tile.dy(-1)));
+        best = closer(best, field.distanceFrom(tile.dy(1)));
+        return best;
+    }
+
+    /**
+     * Door and object events capture a new snapshot even when nothing walkable changed, and a scene reload
+     * or a table restored from disk may match the live scene, so the fields only have to go when the exits
+     * differ.
+     */
+    private static boolean sameCollision(CollisionSnapshot old, CollisionSnapshot current) {
+        return old != null
+                && old.getPlane() == current.getPlane()
+                && old.getBaseX() == current.getBaseX()
+                && old.getBaseY() == current.getBaseY()
+                && old.getExitsHash() == current.getExitsHash()
+                && Arrays.equals(old.getExits(), current.getExits());
+    }
+
+    private static int closer(int a, int b) {
+        if (a == UNREACHABLE) {
+            return b;
+        }
+        return b == UNREACHABLE ? a : Math.min(a, b);
+    }
+}
@@ -0,0 +1,89 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.GameObject;
+import net.runelite.api.Scene;
+import net.runelite.api.Tile;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the loaded game objects whose IDs the plugin cares about, kept up to date from spawn and
+ * despawn events so overlays never have to scan the scene.
+ */
+@Singleton
+class SceneObjectIndex {
+    private final Map<Integer, List<GameObject>> objects = new HashMap<>();
+
+    /**
+     * Starts tracking objects with the given ID. Objects already in the scene are only picked up by the
+     * next {@link #rebuild(Scene)}.
+     */
+    void track(int id) {
+        objects.computeIfAbsent(id, k -> new ArrayList<>());
+    }
+
+    /**
+     * @return the loaded objects with the given ID; empty if none are loaded or the ID is not tracked
+     */
+    List<GameObject> get(int id) {
+        List<GameObject> tracked = objects.get(id);
+        return tracked == null ? Collections.emptyList() : tracked;
+    }
+
+    void onSpawned(GameObject object) {
+        List<GameObject> tracked = objects.get(object.getId());
+        if (tracked != null && !tracked.contains(object)) {
+            tracked.add(object);
+        }
+    }
+
+    void onDespawned(GameObject object) {
+        List<GameObject> tracked = objects.get(object.getId());
+        if (tracked != null) {
+            tracked.remove(object);
+        }
+    }
+
+    void clear() {
+        for (List<GameObject> tracked : objects.values()) {
+            tracked.clear();
+        }
+    }
+
+    /**
+     * Rebuilds the index from a full scan of the scene, for when the plugin starts with a scene already
+     * loaded and the spawn events have been missed.
+     */
+    void rebuild(Scene scene) {
+        clear();
+        if (scene == null || objects.isEmpty()) {
+            return;
+        }
+
+        for (Tile[][] planeTiles : scene.getTiles()) {
+            if (planeTiles == null)
+                continue;
+
+            for (Tile[] row : planeTiles) {
+                if (row == null)
+                    continue;
+
+                for (Tile tile : row) {
+                    if (tile == null)
+                        continue;
+
+                    for (GameObject obj : tile.getGameObjects()) {
+                        if (obj != null) {
+                            onSpawned(obj);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
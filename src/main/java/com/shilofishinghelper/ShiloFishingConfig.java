@@ -30,6 +30,15 @@ public interface ShiloFishingConfig extends Config {
         return new Color(0, 255, 255, 200);
     }
 
+    @ConfigItem(
+            keyName = "pathStyle",
+            name = "Path style",
+            description = "Outline every path tile, or draw the route as one ribbon with only its outer border"
+    )
+    default PathStyle pathStyle() {
+        return PathStyle.TILES;
+    }
+
     @ConfigItem(
             keyName = "showInventoryCount",
             name = "Show Free Inventory Count",
@@ -67,4 +76,31 @@ public interface ShiloFishingConfig extends Config {
     default Color idleScreenColor() {
         return Color.RED;   // base color only, we’ll add the opacity later
     }
+
+    @ConfigItem(
+            keyName = "idleOverlayStyle",
+            name = "Idle Overlay Style",
+            description = "Tint the whole game view, or only draw a border around it (optionally pulsing)"
+    )
+    default IdleOverlayStyle idleOverlayStyle() {
+        return IdleOverlayStyle.FULL;
+    }
+
+    @ConfigItem(
+            keyName = "showPerformanceStats",
+            name = "Show Performance Stats",
+            description = "Records tick, render and pathfinding costs and shows them in a debug panel"
+    )
+    default boolean showPerformanceStats() {
+        return false;
+    }
+
+    @ConfigItem(
+            keyName = "logPerformanceSummary",
+            name = "Log Performance Summary",
+            description = "Records the same stats and writes a summary to the client log when the plugin stops"
+    )
+    default boolean logPerformanceSummary() {
+        return false;
+    }
 }
@@ -0,0 +1,63 @@
+package com.shilofishinghelper;
+
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.*;
+
+@Singleton
+public class ShiloFishingDebugOverlay extends OverlayPanel {
+    private final PerfStats perfStats;
+
+    @Inject
+    public ShiloFishingDebugOverlay(ShiloFishingPlugin plugin, PerfStats perfStats) {
+        super(plugin);
+        this.perfStats = perfStats;
+        setPosition(OverlayPosition.TOP_LEFT);
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics) {
+        if (!perfStats.isEnabled()) {
+            return null;
+        }
+
+        panelComponent.getChildren().add(TitleComponent.builder()
+                .text("Shilo Fishing perf")
+                .build());
+
+        // Mean / p95 upper bound, in microseconds
+        for (PerfStats.Section section : PerfStats.Section.values()) {
+            PerfStats.Histogram timing = perfStats.getTiming(section);
+            addLine(section.getLabel(), String.format("%.0f / %.0f us", timing.mean() / 1000, timing.percentile(0.95) / 1000.0));
+        }
+
+        if (perfStats.isAllocationTracked()) {
+            long bytes = 0;
+            for (PerfStats.Section section : PerfStats.Section.values()) {
+                if (section != PerfStats.Section.TICK) {
+                    bytes += (long) perfStats.getAllocation(section).mean();
+                }
+            }
+            addLine("Alloc / frame", bytes + " B");
+        }
+
+        addLine("Search nodes", String.format("%.0f", perfStats.getSearchExpansions().mean()));
+        addLine("Path length", String.format("%.1f", perfStats.getPathLengths().mean()));
+        addLine("Route cache", String.format("%.0f%%", perfStats.routeCacheHitRate()));
+        addLine("Projection reuse", String.format("%.0f%%", perfStats.projectionSkipRate()));
+
+        return super.render(graphics);
+    }
+
+    private void addLine(String left, String right) {
+        panelComponent.getChildren().add(LineComponent.builder()
+                .left(left)
+                .right(right)
+                .build());
+    }
+}
@@ -1,6 +1,7 @@
 package com.shilofishinghelper;
 
 import lombok.Setter;
+import net.runelite.api.Client;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPosition;
@@ -11,37 +12,97 @@ import java.awt.*;
 
 @Singleton
 public class ShiloFishingIdleOverlay extends Overlay {
-    private final ShiloFishingConfig config;
+    private static final int BORDER_WIDTH = 12;
+    // Client cycles are 20 ms, so the pulse changes alpha at most 10 times a second
+    private static final int PULSE_STEP_CYCLES = 5;
+    private static final int LABEL_Y = 40;
+
+    private final Client client;
+    private final PerfStats perfStats;
     @Setter
-    private boolean isIdle = false;
+    private FramePlan plan = FramePlan.EMPTY;
+
+    // Width of the last label drawn, so the font metrics are only asked when the reason or font changes
+    private IdleDetector.Reason measuredReason;
+    private Font measuredFont;
+    private int measuredWidth;
 
     @Inject
-    public ShiloFishingIdleOverlay(ShiloFishingConfig config) {
-        this.config = config;
+    public ShiloFishingIdleOverlay(Client client, PerfStats perfStats) {
+        this.client = client;
+        this.perfStats = perfStats;
         setPosition(OverlayPosition.DYNAMIC);
         setLayer(OverlayLayer.ALWAYS_ON_TOP);
     }
 
     @Override
     public Dimension render(Graphics2D graphics) {
-        if (!config.showRedScreen() || !isIdle) {
-            return null;
+        long start = perfStats.begin(PerfStats.Section.IDLE_OVERLAY);
+        try {
+            return renderTint(graphics);
+        } finally {
+            perfStats.end(PerfStats.Section.IDLE_OVERLAY, start);
         }
+    }
 
-        Dimension size = graphics.getDeviceConfiguration().getBounds().getSize();
+    private Dimension renderTint(Graphics2D graphics) {
+        FramePlan plan = this.plan;
+        IdleDetector.Reason reason = plan.getIdleReason();
+        if (reason == null) {
+            return null;
+        }
+        RenderSettings settings = plan.getSettings();
 
-        // Always use the user’s color but apply fixed opacity (e.g., 70/255)
-        Color base = config.idleScreenColor();
-        if (base == null) {
-            base = Color.RED;
+        // Only the game view is tinted, not the side panels or the rest of the window
+        int x = client.getViewportXOffset();
+        int y = client.getViewportYOffset();
+        int width = client.getViewportWidth();
+        int height = client.getViewportHeight();
+        if (width <= 0 || height <= 0) {
+            return null;
         }
 
-        Color overlayColor = new Color(base.getRed(), base.getGreen(), base.getBlue(), 70);
+        switch (settings.getIdleStyle()) {
+            case BORDER:
+                drawBorder(graphics, settings.getIdleBorderColor(), x, y, width, height);
+                break;
+            case PULSE:
+                Color[] pulse = settings.getIdlePulse();
+                Color color = pulse[(client.getGameCycle() / PULSE_STEP_CYCLES) % pulse.length];
+                if (color != null) {
+                    drawBorder(graphics, color, x, y, width, height);
+                }
+                break;
+            default:
+                graphics.setColor(settings.getIdleColor());
+                graphics.fillRect(x, y, width, height);
+                break;
+        }
 
-        graphics.setColor(overlayColor);
-        graphics.fillRect(0, 0, size.width, size.height);
+        // Say why, centred near the top
+        String label = reason.getLabel();
+        Font font = settings.getInventoryFont();
+        graphics.setFont(font);
+        if (reason != measuredReason || font != measuredFont) {
+            measuredReason = reason;
+            measuredFont = font;
+            measuredWidth = graphics.getFontMetrics().stringWidth(label);
+        }
+        int labelX = x + (width - measuredWidth) / 2;
+        graphics.setColor(Color.BLACK);
+        graphics.drawString(label, labelX + 1, y + LABEL_Y + 1);
+        graphics.setColor(Color.WHITE);
+        graphics.drawString(label, labelX, y + LABEL_Y);
 
         return null;
     }
 
+    private static void drawBorder(Graphics2D graphics, Color color, int x, int y, int width, int height) {
+        int edge = Math.min(BORDER_WIDTH, Math.min(width, height) / 2);
+        graphics.setColor(color);
+        graphics.fillRect(x, y, width, edge);
+        graphics.fillRect(x, y + height - edge, width, edge);
+        graphics.fillRect(x, y + edge, edge, height - 2 * edge);
+        graphics.fillRect(x + width - edge, y + edge, edge, height - 2 * edge);
+    }
 }
@@ -1,5 +1,6 @@
 package com.shilofishinghelper;
 
+import lombok.Setter;
 import net.runelite.api.*;
 import net.runelite.api.Point;
 import net.runelite.api.coords.LocalPoint;
@@ -14,38 +15,41 @@ import java.awt.*;
 @Singleton
 public class ShiloFishingInventoryOverlay extends Overlay {
     private final Client client;
-    private final ShiloFishingConfig config;
+    private final PerfStats perfStats;
+    @Setter
+    private FramePlan plan = FramePlan.EMPTY;
 
     @Inject
-    public ShiloFishingInventoryOverlay(Client client, ShiloFishingConfig config) {
+    public ShiloFishingInventoryOverlay(Client client, PerfStats perfStats) {
         this.client = client;
-        this.config = config;
+        this.perfStats = perfStats;
         setPosition(OverlayPosition.DYNAMIC);
         setLayer(OverlayLayer.ABOVE_SCENE);
     }
 
     @Override
     public Dimension render(Graphics2D graphics) {
-        if (!config.showInventoryCount()) {
-            return null;
+        long start = perfStats.begin(PerfStats.Section.INVENTORY_OVERLAY);
+        try {
+            return renderCount(graphics);
+        } finally {
+            perfStats.end(PerfStats.Section.INVENTORY_OVERLAY, start);
         }
+    }
 
-        Player player = client.getLocalPlayer();
-        if (player == null) {
+    private Dimension renderCount(Graphics2D graphics) {
+        // The count and its colour come from the plan; only the position follows the player every frame
+        FramePlan plan = this.plan;
+        String label = plan.getFreeSlotsLabel();
+        if (label == null) {
             return null;
         }
 
-        ItemContainer inventory = client.getItemContainer(InventoryID.INVENTORY);
-        if (inventory == null) {
+        Player player = client.getLocalPlayer();
+        if (player == null) {
             return null;
         }
 
-        int totalSlots = 28;
-        int filledSlots = (int) java.util.Arrays.stream(inventory.getItems())
-                .filter(item -> item != null && item.getId() != -1)
-                .count();
-        int freeSlots = totalSlots - filledSlots;
-
         LocalPoint lp = player.getLocalLocation();
         if (lp == null) {
             return null;
@@ -64,12 +68,11 @@ public class ShiloFishingInventoryOverlay extends Overlay {
         int y = canvasPoint.getY() + offsetY;
 
         // Text (just the number)
-        Color textColor = freeSlots > 5 ? Color.WHITE : (freeSlots > 0 ? Color.YELLOW : Color.RED);
-        graphics.setFont(new Font("Arial", Font.BOLD, 16));
+        graphics.setFont(plan.getSettings().getInventoryFont());
         graphics.setColor(Color.BLACK);
-        graphics.drawString(String.valueOf(freeSlots), x + 2, y + 1);
-        graphics.setColor(textColor);
-        graphics.drawString(String.valueOf(freeSlots), x + 1, y);
+        graphics.drawString(label, x + 2, y + 1);
+        graphics.setColor(plan.getFreeSlotsColor());
+        graphics.drawString(label, x + 1, y);
 
         return null;
     }
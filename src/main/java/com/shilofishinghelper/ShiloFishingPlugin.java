@@ -1,31 +1,57 @@
 package com.shilofishinghelper;
 
 import com.google.inject.Provides;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.api.GameObject;
+import net.runelite.api.InventoryID;
 import net.runelite.api.NPC;
 import net.runelite.api.Player;
+import net.runelite.api.Tile;
+import net.runelite.api.WorldView;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.AnimationChanged;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.InteractingChanged;
+import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.events.NpcChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
+import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.OverlayManager;
 
 import javax.inject.Inject;
+import java.awt.Color;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
 
 @PluginDescriptor(
         name = "Shilo Fishing Helper",
         description = "Shows a cyan path to the nearest fishing spot and turns the screen red when you stop fishing until you click again",
         tags = {"fishing", "shilo", "path", "idle"}
 )
+@Slf4j
 public class ShiloFishingPlugin extends Plugin {
     @Inject
     private Client client;
     @Inject
+    private ClientThread clientThread;
+    @Inject
     private OverlayManager overlayManager;
     @Inject
     private ShiloFishingIdleOverlay idleOverlay;
@@ -33,15 +59,57 @@ public class ShiloFishingPlugin extends Plugin {
     private ShiloFishingPathOverlay pathOverlay;
     @Inject
     private ShiloFishingInventoryOverlay inventoryOverlay;
-
-
-    private boolean isIdle = false;
-    private boolean wasFishing = false;
-    private int lastAnimation = -1;
-    private Object lastInteracting = null;
-    private long lastClickTime = 0;
-    private static final int CLICK_DELAY_MS = 600;
-    private boolean userClickedSinceLastFishing = false;
+    @Inject
+    private ShiloFishingConfig config;
+    @Inject
+    private RouteCache routeCache;
+    @Inject
+    private SceneObjectIndex objectIndex;
+    @Inject
+    private FishingSpotRegistry spotRegistry;
+    @Inject
+    private InventoryState inventoryState;
+    @Inject
+    private TileProjectionCache projectionCache;
+    @Inject
+    private PathfindingWorker pathWorker;
+    @Inject
+    private PerfStats perfStats;
+    @Inject
+    private RoutePlanner planner;
+    @Inject
+    private LocationProfiles profiles;
+    @Inject
+    private NavigationCache navigation;
+    @Inject
+    private NavigationStore navigationStore;
+    @Inject
+    private ScheduledExecutorService executor;
+    @Inject
+    private IdleDetector idleDetector;
+    @Inject
+    private Geofence geofence;
+    @Inject
+    private ShiloFishingDebugOverlay debugOverlay;
+
+    // Single-target searches to the deposit box while its field is still building
+    private final PathFinder pathFinder = new PathFinder();
+
+    private int lastPlane = -1;
+    private RenderSettings settings;
+    // Bumped whenever the collision map may have changed; snapshots for the worker are keyed on it
+    private int collisionRevision;
+    // Between LOADING and LOGGED_IN, while the new scene's objects spawn
+    private boolean sceneLoading;
+    private CollisionSnapshot collisionSnapshot;
+    // The fishing location the player is in and its navigation data; null elsewhere
+    private LocationProfile location;
+    private RouteTable routeTable;
+    // Route chosen on the last tick and whether it leads to the deposit box
+    private Route route;
+    private boolean depositRoute;
+    @Getter(AccessLevel.PACKAGE)
+    private NPC targetSpot;
 
     @Provides
     ShiloFishingConfig provideConfig(ConfigManager configManager) {
@@ -51,9 +119,21 @@ public class ShiloFishingPlugin extends Plugin {
 
     @Override
     protected void startUp() {
-        overlayManager.add(idleOverlay);
-        overlayManager.add(pathOverlay);
-        overlayManager.add(inventoryOverlay);
+        applySettings();
+        executor.execute(this::loadNavigation);
+
+        // Objects spawned before the plugin started are picked up by one scan; the overlays, spots and
+        // inventory follow once the first tick finds the player at a fishing location. Queued behind the
+        // cleanup of a shutdown that may not have run yet.
+        for (LocationProfile profile : profiles.getProfiles()) {
+            objectIndex.track(profile.getDepositObjectId());
+        }
+        clientThread.invokeLater(() -> {
+            pathWorker.setOnPublished(() -> clientThread.invokeLater(this::adoptWorkerRoute));
+            pathWorker.start();
+            objectIndex.rebuild(client.getScene());
+            geofence.onSceneLoaded(client.getMapRegions());
+        });
     }
 
     @Override
@@ -61,162 +141,442 @@ public class ShiloFishingPlugin extends Plugin {
         overlayManager.remove(idleOverlay);
         overlayManager.remove(pathOverlay);
         overlayManager.remove(inventoryOverlay);
-        idleOverlay.setIdle(false);
-        pathOverlay.setTargetFishingSpot(null);
-        isIdle = false;
-        wasFishing = false;
+        overlayManager.remove(debugOverlay);
+        publish(FramePlan.EMPTY);
+        pathWorker.setOnPublished(null);
+        if (config.logPerformanceSummary()) {
+            log.info(perfStats.summary());
+        }
+        perfStats.setEnabled(false);
+        perfStats.reset();
+
+        // 🧹 Shutdown runs on the Swing thread, but event handlers and queued invokeLater callbacks use this
+        // state on the client thread, so it is dropped there, after anything already queued
+        clientThread.invoke(() -> {
+            saveNavigation();
+            idleDetector.reset();
+            geofence.reset();
+            pathWorker.stop();
+            planner.clear();
+            routeCache.invalidate();
+            lastPlane = -1;
+            navigation.clear();
+            location = null;
+            routeTable = null;
+            route = null;
+            depositRoute = false;
+            collisionSnapshot = null;
+            targetSpot = null;
+            objectIndex.clear();
+            spotRegistry.clear();
+            inventoryState.reset();
+        });
+    }
+
+    @Subscribe
+    public void onConfigChanged(ConfigChanged event) {
+        if ("shilofishing".equals(event.getGroup())) {
+            applySettings();
+        }
+    }
+
+    // 🎨 Rebuild the config snapshot and drawing resources and hand them to the overlays
+    private void applySettings() {
+        settings = new RenderSettings(config);
+        publish(buildPlan());
+
+        // 📊 Instrumentation costs nothing unless one of the perf options is on
+        perfStats.setEnabled(config.showPerformanceStats() || config.logPerformanceSummary());
+        if (config.showPerformanceStats()) {
+            overlayManager.add(debugOverlay);
+        } else {
+            overlayManager.remove(debugOverlay);
+        }
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event) {
+        switch (event.getGameState()) {
+            case LOADING:
+                sceneLoading = true;
+                collisionRevision++;
+                routeCache.invalidate();
+                pathWorker.clear();
+                planner.clear();
+                objectIndex.clear();
+                projectionCache.invalidate();
+                break;
+            case LOGGED_IN:
+                sceneLoading = false;
+                geofence.onSceneLoaded(client.getMapRegions());
+                break;
+            case LOGIN_SCREEN:
+                saveNavigation();
+                inventoryState.reset();
+                // fall through
+            case HOPPING:
+                spotRegistry.clear();
+                break;
+        }
+    }
+
+    @Subscribe
+    public void onItemContainerChanged(ItemContainerChanged event) {
+        // 🚧 Spots, inventory and idle state are only followed at a fishing location; entering rescans them
+        if (!geofence.isInside()) {
+            return;
+        }
+
+        if (event.getContainerId() == InventoryID.INVENTORY.getId()) {
+            inventoryState.update(event.getItemContainer());
+            if (idleDetector.onInventoryChanged()) {
+                logIdleReason();
+            }
+            // The free slot count shows straight away rather than on the next tick
+            publish(buildPlan());
+        }
+    }
+
+    @Subscribe
+    public void onNpcSpawned(NpcSpawned event) {
+        if (geofence.isInside()) {
+            spotRegistry.onSpawned(event.getNpc());
+        }
+    }
+
+    @Subscribe
+    public void onNpcDespawned(NpcDespawned event) {
+        if (geofence.isInside()) {
+            spotRegistry.onDespawned(event.getNpc());
+        }
+    }
+
+    @Subscribe
+    public void onNpcChanged(NpcChanged event) {
+        if (geofence.isInside()) {
+            spotRegistry.onChanged(event.getNpc());
+        }
+    }
+
+    // 🚪 Objects and walls (doors, gates) change the collision map, so cached routes may be wrong
+    @Subscribe
+    public void onGameObjectSpawned(GameObjectSpawned event) {
+        objectIndex.onSpawned(event.getGameObject());
+        onCollisionChanged(event.getTile());
+    }
+
+    @Subscribe
+    public void onGameObjectDespawned(GameObjectDespawned event) {
+        objectIndex.onDespawned(event.getGameObject());
+        onCollisionChanged(event.getTile());
+    }
+
+    @Subscribe
+    public void onWallObjectSpawned(WallObjectSpawned event) {
+        onCollisionChanged(event.getTile());
+    }
+
+    @Subscribe
+    public void onWallObjectDespawned(WallObjectDespawned event) {
+        onCollisionChanged(event.getTile());
+    }
+
+    // A scene load spawns every object in it and already bumped the revision once; away from a fishing
+    // location or on another plane nothing routed is affected
+    private void onCollisionChanged(Tile tile) {
+        if (sceneLoading || location == null || tile.getPlane() != lastPlane) {
+            return;
+        }
+
+        collisionRevision++;
+        routeCache.invalidate();
     }
 
     // 🖱️ Detects actual user clicks — clears red
     @Subscribe
     public void onMenuOptionClicked(MenuOptionClicked e) {
-        lastClickTime = System.currentTimeMillis();
-        userClickedSinceLastFishing = true; // mark user intent
-
-        if (isIdle) {
-            isIdle = false;
-            idleOverlay.setIdle(false);
+        if (geofence.isInside() && idleDetector.onClick()) {
+            updateIdleOverlay();
         }
     }
 
-    private boolean isInShiloVillage() {
+    // 🎣 Fishing starts and stops with the player's animation and what they interact with
+    @Subscribe
+    public void onAnimationChanged(AnimationChanged event) {
         Player player = client.getLocalPlayer();
-        if (player == null) {
-            return false;
+        if (geofence.isInside() && player != null && event.getActor() == player
+                && idleDetector.onAnimationChanged(player.getAnimation())) {
+            updateIdleOverlay();
         }
+    }
 
-        int x = player.getWorldLocation().getX();
-        int y = player.getWorldLocation().getY();
+    @Subscribe
+    public void onInteractingChanged(InteractingChanged event) {
+        if (geofence.isInside() && event.getSource() == client.getLocalPlayer()
+                && idleDetector.onInteractingChanged(event.getTarget())) {
+            updateIdleOverlay();
+        }
+    }
 
-        // ✅ Shilo Village coordinate boundaries
-        // Adjusted to include the entire fishing area and bank area
-        return x >= 2810 && x <= 2880 && y >= 2940 && y <= 3000;
+    private void updateIdleOverlay() {
+        logIdleReason();
+        publish(buildPlan());
     }
 
+    private void logIdleReason() {
+        IdleDetector.Reason reason = idleDetector.getIdleReason();
+        if (reason != null) {
+            log.debug("Idle: {}", reason);
+        }
+    }
 
     @Subscribe
     public void onGameTick(GameTick tick) {
+        long start = perfStats.begin(PerfStats.Section.TICK);
+        try {
+            updateTick();
+        } finally {
+            perfStats.end(PerfStats.Section.TICK, start);
+        }
+    }
+
+    private void updateTick() {
         Player player = client.getLocalPlayer();
         if (player == null) {
             return;
         }
 
-        boolean inShilo = isInShiloVillage();
-
-        // 🔴 If not in Shilo Village, disable overlays and logic
-        if (!inShilo) {
-            if (pathOverlay != null) {
-                overlayManager.remove(pathOverlay);
-            }
-            if (idleOverlay != null) {
-                overlayManager.remove(idleOverlay);
+        if (geofence.update(player)) {
+            if (location != null) {
+                leaveLocation();
             }
-            if (inventoryOverlay != null) {
-                overlayManager.remove(inventoryOverlay);
+            if (geofence.isInside()) {
+                enterLocation(geofence.getLocation());
             }
-
-            idleOverlay.setIdle(false);
-            pathOverlay.setTargetFishingSpot(null);
+        }
+        if (!geofence.isInside()) {
             return;
         }
 
-        // 🟢 If in Shilo, ensure overlays are added
-        if (pathOverlay != null && !overlayManager.anyMatch(o -> o == pathOverlay)) {
-            overlayManager.add(pathOverlay);
+        idleDetector.onTick();
+
+        WorldPoint playerLoc = player.getWorldLocation();
+        if (playerLoc.getPlane() != lastPlane) {
+            routeCache.invalidate();
+            lastPlane = playerLoc.getPlane();
         }
-        if (idleOverlay != null && !overlayManager.anyMatch(o -> o == idleOverlay)) {
-            overlayManager.add(idleOverlay);
+
+        // 🎣 Find nearest fishing spot and update path overlay
+        List<NPC> spots = spotRegistry.getSpots();
+        List<WorldPoint> spotLocations = spotRegistry.getLocations();
+
+        // 🗺️ Spot tiles and the deposit box get precomputed routes, rebuilt in the background only when the
+        // collision data changes
+        CollisionSnapshot snapshot = currentCollisionSnapshot(playerLoc.getPlane());
+        routeTable.update(snapshot, spotLocations);
+        buildFields(routeTable);
+
+        // Once every spot tile has a field the nearest spot is a lookup. Until then one search from the
+        // player covers every spot; it runs on the worker and is adopted once it matches this tick's state.
+        long spotsKey = spotsKey(spotLocations);
+        Route spotRoute = routeCache.get(playerLoc, spotsKey);
+        if (spotRoute == null) {
+            spotRoute = routeTable.nearest(snapshot, playerLoc, spotLocations, spotsKey);
+            if (spotRoute != null) {
+                spotRoute = spotRoute.withVersion(pathWorker.supersede());
+            } else {
+                spotRoute = pathWorker.getResult(snapshot, playerLoc, spotsKey);
+            }
+            if (spotRoute == null) {
+                // 🩹 Walking along last tick's route, a spot shifting or a blocked tile only needs a repair
+                spotRoute = planner.plan(snapshot, playerLoc, spotLocations, spotsKey);
+                if (spotRoute != null) {
+                    spotRoute = spotRoute.withVersion(pathWorker.supersede());
+                }
+            }
+            if (spotRoute == null) {
+                pathWorker.submit(snapshot, playerLoc, spotLocations, spotsKey);
+                // Short searches may already be done; otherwise adoptWorkerRoute takes it when it is
+                spotRoute = pathWorker.getResult(snapshot, playerLoc, spotsKey);
+            }
+            if (spotRoute != null) {
+                routeCache.put(spotRoute);
+            }
         }
-        if (inventoryOverlay != null && !overlayManager.anyMatch(o -> o == inventoryOverlay)) {
-            overlayManager.add(inventoryOverlay);
+
+        if (spotRoute != null) {
+            acceptSpotRoute(spotRoute, snapshot, spots, spotLocations);
         }
 
-        // 🎣 Find nearest fishing spot and update path overlay
-        NPC bestSpot = null;
-        List<WorldPoint> bestPath = null;
-        WorldPoint playerLoc = client.getLocalPlayer().getWorldLocation();
-
-// First: look for any spot the player is already adjacent to
-        for (NPC npc : client.getNpcs()) {
-            if (npc.getName() == null || !npc.getName().toLowerCase().contains("fishing"))
-                continue;
-
-            if (isCardinallyAdjacent(playerLoc, npc.getWorldLocation())) {
-                // ✅ Immediately pick this — you’re right next to it
-                bestSpot = npc;
-                bestPath = Collections.emptyList(); // no path needed
-                break;
+        // 🟡 Full inventory swaps the route for the way to the deposit box
+        depositRoute = settings.isShowPath() && settings.isShowDepositPath() && inventoryState.isFull();
+        route = spotRoute;
+        if (depositRoute) {
+            route = routeCache.get(playerLoc, location.getDepositKey());
+            if (route == null) {
+                route = Route.of(playerLoc, location.getDepositKey(), 0, depositPath(snapshot, playerLoc));
+                routeCache.put(route);
             }
         }
+        publish(buildPlan());
+    }
+
+    private List<WorldPoint> depositPath(CollisionSnapshot snapshot, WorldPoint playerLoc) {
+        List<WorldPoint> path = routeTable.depositPath(snapshot, playerLoc);
+        if (path == null && snapshot != null) {
+            // The field is still building; one A* search is cheap next to waiting a tick or more for it
+            path = pathFinder.findPath(snapshot.getExits(), snapshot.getBaseX(), snapshot.getBaseY(),
+                    playerLoc, location.getDepositTile());
+            perfStats.recordSearch(pathFinder.getLastExpanded(), path.size());
+        }
+        return path == null ? Collections.emptyList() : path;
+    }
 
-// Otherwise, fall back to “shortest walking path”
-        if (bestSpot == null) {
-            for (NPC npc : client.getNpcs()) {
-                if (npc.getName() == null || !npc.getName().toLowerCase().contains("fishing"))
-                    continue;
+    // 📬 The worker finished a search: show it now rather than on the next tick, but only if it was searched
+    // from where the player still is, for the spots still there, on the collision data still loaded
+    private void adoptWorkerRoute() {
+        Player player = client.getLocalPlayer();
+        if (location == null || player == null) {
+            return;
+        }
 
-                List<WorldPoint> path = pathOverlay.findWalkablePath(playerLoc, npc.getWorldLocation());
-                if (path.isEmpty())
-                    continue;
+        WorldPoint playerLoc = player.getWorldLocation();
+        List<WorldPoint> spotLocations = spotRegistry.getLocations();
+        long spotsKey = spotsKey(spotLocations);
+        CollisionSnapshot snapshot = currentCollisionSnapshot(playerLoc.getPlane());
+        Route found = pathWorker.getResult(snapshot, playerLoc, spotsKey);
+        if (found == null || routeCache.get(playerLoc, spotsKey) != null) {
+            return;
+        }
 
-                if (bestPath == null || path.size() < bestPath.size()) {
-                    bestPath = path;
-                    bestSpot = npc;
-                }
-            }
+        routeCache.put(found);
+        acceptSpotRoute(found, snapshot, spotRegistry.getSpots(), spotLocations);
+        if (!depositRoute) {
+            route = found;
         }
+        publish(buildPlan());
+    }
 
-        pathOverlay.setTargetFishingSpot(bestSpot);
+    private void acceptSpotRoute(Route spotRoute, CollisionSnapshot snapshot, List<NPC> spots, List<WorldPoint> spotLocations) {
+        planner.accept(spotRoute, snapshot, spotLocations);
+        targetSpot = spotRoute.getTarget() >= 0 ? spots.get(spotRoute.getTarget()) : null;
+    }
 
+    // 🧮 Fields are built on the executor and installed on the client thread, so a tick never waits for them
+    private void buildFields(RouteTable table) {
+        RouteTable.FieldBuild build = table.startBuild();
+        if (build != null) {
+            executor.execute(() -> {
+                build.run();
+                clientThread.invokeLater(() -> table.finish(build));
+            });
+        }
+    }
 
-        int anim = player.getAnimation();
-        Object interacting = player.getInteracting();
+    // 🟢 Entered a fishing location: switch to its profile and navigation data, show the overlays and catch up
+    // on spots and inventory changes missed while away
+    private void enterLocation(LocationProfile entered) {
+        log.debug("Entered {}", entered);
+        location = entered;
+        routeTable = navigation.get(entered);
+        spotRegistry.setLocation(entered);
 
-        // 🎣 Actively fishing (animation running + interacting with fishing spot)
-        boolean currentlyFishing = interacting instanceof NPC &&
-                ((NPC) interacting).getName() != null &&
-                ((NPC) interacting).getName().toLowerCase().contains("fishing");
+        overlayManager.add(pathOverlay);
+        overlayManager.add(idleOverlay);
+        overlayManager.add(inventoryOverlay);
+        spotRegistry.rebuild(client.getNpcs());
+        inventoryState.update(client.getItemContainer(InventoryID.INVENTORY));
+    }
 
-        if (currentlyFishing && anim != -1) {
-            // reset click flag while fishing
-            userClickedSinceLastFishing = false;
+    // 🔴 Left the location: hide the overlays and drop everything that only matters there
+    private void leaveLocation() {
+        overlayManager.remove(pathOverlay);
+        overlayManager.remove(idleOverlay);
+        overlayManager.remove(inventoryOverlay);
 
-            if (isIdle) {
-                isIdle = false;
-                idleOverlay.setIdle(false);
-            }
+        idleDetector.reset();
+        pathWorker.clear();
+        planner.clear();
+        targetSpot = null;
+        spotRegistry.clear();
+        inventoryState.reset();
+        routeCache.invalidate();
+        location = null;
+        routeTable = null;
+        route = null;
+        depositRoute = false;
+        publish(FramePlan.EMPTY);
+    }
 
-            wasFishing = true;
-            lastInteracting = interacting;
-            lastAnimation = anim;
-            return;
+    // 🖼️ Everything the overlays draw until the next change; frames only project and paint it
+    private FramePlan buildPlan() {
+        if (location == null || settings == null) {
+            return FramePlan.EMPTY;
         }
 
-        // 🔴 If we were fishing but now stopped (no animation or interaction)
-        if (wasFishing && (anim == -1 || interacting == null)) {
-            // Only show red if user did NOT click since fishing
-            if (!userClickedSinceLastFishing) {
-                if (!isIdle) {
-                    isIdle = true;
-                    idleOverlay.setIdle(true);
-                }
-            }
-
-            // Reset after processing
-            wasFishing = false;
-            userClickedSinceLastFishing = false;
-            return;
+        Route shown = settings.isShowPath() ? route : null;
+        Color fill = depositRoute ? settings.getDepositFill() : settings.getPathFill();
+        Color outline = depositRoute ? settings.getDepositOutline() : settings.getPathOutline();
+        List<GameObject> depositObjects = depositRoute
+                ? new ArrayList<>(objectIndex.get(location.getDepositObjectId()))
+                : Collections.emptyList();
+
+        String freeSlotsLabel = null;
+        Color freeSlotsColor = null;
+        if (settings.isShowInventoryCount() && inventoryState.isLoaded()) {
+            freeSlotsLabel = RenderSettings.slotLabel(inventoryState.getFreeSlots());
+            freeSlotsColor = RenderSettings.slotColor(inventoryState.getFreeSlots());
         }
 
+        IdleDetector.Reason idleReason = settings.isShowIdleOverlay() ? idleDetector.getIdleReason() : null;
+        return new FramePlan(settings, shown, depositRoute, fill, outline, depositObjects,
+                freeSlotsLabel, freeSlotsColor, idleReason);
+    }
 
+    private void publish(FramePlan plan) {
+        pathOverlay.setPlan(plan);
+        inventoryOverlay.setPlan(plan);
+        idleOverlay.setPlan(plan);
     }
 
-    private boolean isCardinallyAdjacent(WorldPoint a, WorldPoint b) {
-        if (a.getPlane() != b.getPlane()) return false;
-        int dx = Math.abs(a.getX() - b.getX());
-        int dy = Math.abs(a.getY() - b.getY());
-        return (dx + dy) == 1; // one tile away N/S/E/W
+    // 💾 Runs on the executor: the fields of saved tables are built here, off the client thread, and the
+    // finished tables are handed over. If a saved table no longer matches the live scene, its first tick
+    // drops its fields and they are rebuilt on the executor like those of a new table.
+    private void loadNavigation() {
+        List<NavigationStore.Entry> entries = navigationStore.load();
+        for (NavigationStore.Entry entry : entries) {
+            RouteTable table = new RouteTable(entry.location);
+            table.update(entry.snapshot, entry.nodes);
+            table.buildFields();
+            clientThread.invokeLater(() -> navigation.restore(entry.location, table));
+        }
+        if (!entries.isEmpty()) {
+            log.debug("Restored navigation for {} locations", entries.size());
+        }
+    }
+
+    private void saveNavigation() {
+        List<NavigationStore.Entry> entries = navigation.entries();
+        if (!entries.isEmpty()) {
+            executor.execute(() -> navigationStore.save(entries));
+        }
     }
 
+    private CollisionSnapshot currentCollisionSnapshot(int plane) {
+        WorldView worldView = client.getTopLevelWorldView();
+        if (collisionSnapshot == null
+                || !collisionSnapshot.isCurrent(plane, worldView.getBaseX(), worldView.getBaseY(), collisionRevision)) {
+            collisionSnapshot = CollisionSnapshot.capture(client, plane, collisionRevision);
+        }
+        return collisionSnapshot;
+    }
 
+    private static long spotsKey(List<WorldPoint> locations) {
+        long key = 17;
+        for (WorldPoint location : locations) {
+            key = key * 31 + Route.key(location);
+        }
+        // Tagged so it can never collide with a single-tile key
+        return key | (1L << 62);
+    }
 }
@@ -0,0 +1,184 @@
+package com.shilofishinghelper;
+
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.Perspective;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
+
+import javax.inject.Singleton;
+import java.awt.Polygon;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Screen-space tile polygons of the current route, reused between frames.
+ * <p>
+ * Polygons are cached per scene tile and stamped with a camera generation. A change of camera position,
+ * pitch, yaw, zoom, viewport or scene bumps the generation and forces every tile to be projected again; a new
+ * route with an unchanged camera only projects the tiles that were not on screen before. Each projection
+ * bumps a version, so shapes built from the polygons know when they are stale.
+ */
+@Singleton
+class TileProjectionCache {
+    private static final int SCENE_SIZE = PathFinder.SCENE_SIZE;
+
+    private final Polygon[] tilePolygons = new Polygon[SCENE_SIZE * SCENE_SIZE];
+    private final int[] tileStamps = new int[SCENE_SIZE * SCENE_SIZE];
+    private int generation = 1;
+
+    private Polygon[] routePolygons = new Polygon[64];
+    private int routeSize;
+    private Route route;
+    /** Changes whenever the route polygons do. */
+    @Getter
+    private int version;
+
+    private int cameraX;
+    private int cameraY;
+    private int cameraZ;
+    private int cameraPitch;
+    private int cameraYaw;
+    private int scale;
+    private int viewportX;
+    private int viewportY;
+    private int viewportWidth;
+    private int viewportHeight;
+    private int plane;
+    private int baseX;
+    private int baseY;
+
+    /** Frames that reused the previous frame's polygons without projecting anything. */
+    @Getter
+    private long skippedFrames;
+    /** Frames that had to project at least part of the route. */
+    @Getter
+    private long projectedFrames;
+    /** Tiles projected, over all projected frames. */
+    @Getter
+    private long projectedTiles;
+    /** Tiles reused from an earlier projection during projected frames. */
+    @Getter
+    private long reusedTiles;
+
+    /**
+     * Brings the polygons up to date for {@code route} and the current camera.
+     *
+     * @return the number of route tiles; polygons are read with {@link #getPolygon(int)}
+     */
+    int project(Client client, Route route) {
+        boolean cameraChanged = updateCameraKey(client);
+        if (cameraChanged) {
+            bumpGeneration();
+        } else if (route == this.route) {
+            skippedFrames++;
+            return routeSize;
+        }
+
+        this.route = route;
+        List<WorldPoint> tiles = route.getTiles();
+        routeSize = tiles.size();
+        if (routePolygons.length < routeSize) {
+            routePolygons = new Polygon[Math.max(routeSize, routePolygons.length * 2)];
+        }
+
+        for (int i = 0; i < routeSize; i++) {
+            routePolygons[i] = tilePolygon(client, tiles.get(i));
+        }
+
+        version++;
+        projectedFrames++;
+        return routeSize;
+    }
+
+    /**
+     * @return the polygon of the route tile at {@code index}, or {@code null} if it is not on screen
+     */
+    Polygon getPolygon(int index) {
+        return routePolygons[index];
+    }
+
+    void invalidate() {
+        bumpGeneration();
+        route = null;
+        routeSize = 0;
+        version++;
+    }
+
+    void resetCounters() {
+        skippedFrames = 0;
+        projectedFrames = 0;
+        projectedTiles = 0;
+        reusedTiles = 0;
+    }
+
+    private Polygon tilePolygon(Client client, WorldPoint wp) {
+        int x = wp.getX() - baseX;
+        int y = wp.getY() - baseY;
+        if (!PathFinder.inScene(x, y)) {
+            return null;
+        }
+
+        int index = x * SCENE_SIZE + y;
+        if (tileStamps[index] == generation) {
+            reusedTiles++;
+            return tilePolygons[index];
+        }
+
+        Polygon poly = null;
+        LocalPoint lp = LocalPoint.fromWorld(client, wp);
+        if (lp != null) {
+            poly = Perspective.getCanvasTilePoly(client, lp);
+        }
+
+        tilePolygons[index] = poly;
+        tileStamps[index] = generation;
+        projectedTiles++;
+        return poly;
+    }
+
+    private boolean updateCameraKey(Client client) {
+        WorldView worldView = client.getTopLevelWorldView();
+        int newBaseX = worldView.getBaseX();
+        int newBaseY = worldView.getBaseY();
+
+        boolean changed = cameraX != client.getCameraX()
+                || cameraY != client.getCameraY()
+                || cameraZ != client.getCameraZ()
+                || cameraPitch != client.getCameraPitch()
+                || cameraYaw != client.getCameraYaw()
+                || scale != client.getScale()
+                || viewportX != client.getViewportXOffset()
+                || viewportY != client.getViewportYOffset()
+                || viewportWidth != client.getViewportWidth()
+                || viewportHeight != client.getViewportHeight()
+                || plane != client.getPlane()
+                || baseX != newBaseX
+                || baseY != newBaseY;
+
+        if (changed) {
+            cameraX = client.getCameraX();
+            cameraY = client.getCameraY();
+            cameraZ = client.getCameraZ();
+            cameraPitch = client.getCameraPitch();
+            cameraYaw = client.getCameraYaw();
+            scale = client.getScale();
+            viewportX = client.getViewportXOffset();
+            viewportY = client.getViewportYOffset();
+            viewportWidth = client.getViewportWidth();
+            viewportHeight = client.getViewportHeight();
+            plane = client.getPlane();
+            baseX = newBaseX;
+            baseY = newBaseY;
+        }
+        return changed;
+    }
+
+    private void bumpGeneration() {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(tileStamps, 0);
+            generation = 1;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.shilofishinghelper;
+
+/**
+ * Packs one plane's collision flags into a {@code byte} per scene tile holding which of its four edges can
+ * be walked through, so a search tests an edge with a single bit instead of decoding the flags of both
+ * tiles. Tiles are indexed like {@link PathFinder} ({@code x * SCENE_SIZE + y}); edges leading out of the
+ * scene are never set, so searches need no bounds checks.
+ */
+final class Walkability {
+    static final int WEST = 1;
+    static final int EAST = 2;
+    static final int SOUTH = 4;
+    static final int NORTH = 8;
+
+    private static final int SCENE_SIZE = PathFinder.SCENE_SIZE;
+
+    private Walkability() {
+    }
+
+    static byte[] build(int[][] flags) {
+        byte[] exits = new byte[SCENE_SIZE * SCENE_SIZE];
+        for (int x = 0; x < SCENE_SIZE; x++) {
+            for (int y = 0; y < SCENE_SIZE; y++) {
+                int bits = 0;
+                if (PathFinder.canMove(flags, x, y, -1, 0)) bits |= WEST;
+                if (PathFinder.canMove(flags, x, y, 1, 0)) bits |= EAST;
+                if (PathFinder.canMove(flags, x, y, 0, -1)) bits |= SOUTH;
+                if (PathFinder.canMove(flags, x, y, 0, 1)) bits |= NORTH;
+                exits[x * SCENE_SIZE + y] = (byte) bits;
+            }
+        }
+        return exits;
+    }
+
+    /**
+     * @return the exit bit for a single cardinal step, or 0 if {@code (dx, dy)} is not one
+     */
+    static int exit(int dx, int dy) {
+        if (dy == 0) {
+            return dx == -1 ? WEST : dx == 1 ? EAST : 0;
+        }
+        if (dx == 0) {
+            return dy == -1 ? SOUTH : dy == 1 ? NORTH : 0;
+        }
+        return 0;
+    }
+
+    /**
+     * @return whether the step from scene tile {@code (x, y)} by {@code (dx, dy)} can be walked
+     */
+    static boolean canMove(byte[] exits, int x, int y, int dx, int dy) {
+        return PathFinder.inScene(x, y) && (exits[x * SCENE_SIZE + y] & exit(dx, dy)) != 0;
+    }
+}
@@ -0,0 +1,196 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.Actor;
+import net.runelite.api.Client;
+import net.runelite.api.CollisionData;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mutable game state behind stand-in {@link Client}, {@link WorldView}, {@link CollisionData},
+ * {@link Player}, {@link NPC} and {@link ItemContainer} objects. The stand-ins read the state on every call,
+ * so a replay only has to change fields between ticks. Constant answers are boxed once, so the stand-ins do
+ * not allocate on calls that return them.
+ */
+class FakeWorld {
+    static final int BASE_X = 2800;
+    static final int BASE_Y = 2900;
+    static final int VIEWPORT_WIDTH = 512;
+    static final int VIEWPORT_HEIGHT = 334;
+
+    final int[][][] flags = new int[4][PathFinder.SCENE_SIZE][PathFinder.SCENE_SIZE];
+    final Map<Integer, FakeNpc> npcs = new LinkedHashMap<>();
+    final int[] inventoryIds = new int[InventoryState.INVENTORY_SIZE];
+
+    WorldPoint playerLocation = new WorldPoint(BASE_X + 52, BASE_Y + 60, 0);
+    int animation = -1;
+    Actor interacting;
+    // Boxed once, so the stand-ins return them without allocating; tests assign other boxes to turn the camera
+    Integer cameraYaw = 0;
+    Integer cameraPitch = 300;
+
+    final WorldView worldView;
+    final CollisionData[] collisionMaps = new CollisionData[4];
+    final Player player;
+    final ItemContainer inventory;
+    final Client client;
+
+    static final class FakeNpc {
+        final int index;
+        final int id;
+        final String name;
+        WorldPoint location;
+        NPC npc;
+
+        FakeNpc(int index, int id, String name, WorldPoint location) {
+            this.index = index;
+            this.id = id;
+            this.name = name;
+            this.location = location;
+        }
+    }
+
+    FakeWorld() {
+        for (int i = 0; i < inventoryIds.length; i++) {
+            inventoryIds[i] = -1;
+        }
+
+        for (int plane = 0; plane < collisionMaps.length; plane++) {
+            int[][] planeFlags = flags[plane];
+            collisionMaps[plane] = Stubs.of(CollisionData.class)
+                    .returning("getFlags", planeFlags)
+                    .build();
+        }
+
+        worldView = Stubs.of(WorldView.class)
+                .returning("getBaseX", BASE_X)
+                .returning("getBaseY", BASE_Y)
+                .on("getPlane", args -> playerLocation.getPlane())
+                .on("getCollisionMaps", args -> collisionMaps)
+                .on("getId", args -> -1)
+                .on("isTopLevel", args -> true)
+                .build();
+
+        player = Stubs.of(Player.class)
+                .on("getWorldLocation", args -> playerLocation)
+                .on("getLocalLocation", args -> localLocation(playerLocation))
+                .on("getAnimation", args -> animation)
+                .on("getInteracting", args -> interacting)
+                .on("getName", args -> "Replay")
+                .returning("getLogicalHeight", 200)
+                .on("getWorldView", args -> worldView)
+                .build();
+
+        inventory = Stubs.of(ItemContainer.class)
+                .on("getId", args -> InventoryID.INVENTORY.getId())
+                .on("getItems", args -> items())
+                .on("size", args -> inventoryIds.length)
+                .build();
+
+        client = Stubs.of(Client.class)
+                .on("getLocalPlayer", args -> player)
+                .on("getTopLevelWorldView", args -> worldView)
+                .on("getWorldView", args -> worldView)
+                .on("getCollisionMaps", args -> collisionMaps)
+                .on("getPlane", args -> playerLocation.getPlane())
+                .returning("getBaseX", BASE_X)
+                .returning("getBaseY", BASE_Y)
+                .on("getNpcs", args -> npcList())
+                .on("getMapRegions", args -> mapRegions())
+                .on("getItemContainer", args -> inventory)
+                .returning("getViewportWidth", VIEWPORT_WIDTH)
+                .returning("getViewportHeight", VIEWPORT_HEIGHT)
+                .returning("getScale", 512)
+                .on("getCameraYaw", args -> cameraYaw)
+                .on("getCameraPitch", args -> cameraPitch)
+                .build();
+    }
+
+    WorldPoint world(int x, int y) {
+        return new WorldPoint(x, y, playerLocation.getPlane());
+    }
+
+    FakeNpc spawnNpc(int index, int id, String name, WorldPoint location) {
+        FakeNpc fake = new FakeNpc(index, id, name, location);
+        fake.npc = Stubs.of(NPC.class)
+                .on("getIndex", args -> fake.index)
+                .on("getId", args -> fake.id)
+                .on("getName", args -> fake.name)
+                .on("getWorldLocation", args -> fake.location)
+                .on("getLocalLocation", args -> localLocation(fake.location))
+                .on("getWorldView", args -> worldView)
+                .build();
+        npcs.put(index, fake);
+        return fake;
+    }
+
+    /**
+     * Fills the first {@code count} inventory slots with {@code itemId} and empties the rest.
+     */
+    void fillInventory(int count, int itemId) {
+        for (int i = 0; i < inventoryIds.length; i++) {
+            inventoryIds[i] = i < count ? itemId : -1;
+        }
+    }
+
+    void block(int fromX, int fromY, int toX, int toY, int flag) {
+        for (int x = Math.min(fromX, toX); x <= Math.max(fromX, toX); x++) {
+            for (int y = Math.min(fromY, toY); y <= Math.max(fromY, toY); y++) {
+                flags[playerLocation.getPlane()][x - BASE_X][y - BASE_Y] |= flag;
+            }
+        }
+    }
+
+    private List<NPC> npcList() {
+        List<NPC> list = new ArrayList<>(npcs.size());
+        for (FakeNpc fake : npcs.values()) {
+            list.add(fake.npc);
+        }
+        return list;
+    }
+
+    /**
+     * @return the IDs of the 64x64 regions the scene overlaps, like the client reports after a scene load
+     */
+    private static int[] mapRegions() {
+        int fromX = BASE_X >> 6;
+        int toX = (BASE_X + PathFinder.SCENE_SIZE - 1) >> 6;
+        int fromY = BASE_Y >> 6;
+        int toY = (BASE_Y + PathFinder.SCENE_SIZE - 1) >> 6;
+        int[] regions = new int[(toX - fromX + 1) * (toY - fromY + 1)];
+        int i = 0;
+        for (int x = fromX; x <= toX; x++) {
+            for (int y = fromY; y <= toY; y++) {
+                regions[i++] = x << 8 | y;
+            }
+        }
+        return regions;
+    }
+
+    private Item[] items() {
+        Item[] items = new Item[inventoryIds.length];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item(inventoryIds[i], inventoryIds[i] == -1 ? 0 : 1);
+        }
+        return items;
+    }
+
+    private LocalPoint localLocation(WorldPoint point) {
+        try {
+            return LocalPoint.fromWorld(worldView, point);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
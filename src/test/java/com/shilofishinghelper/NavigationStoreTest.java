@@ -0,0 +1,131 @@
+package com.shilofishinghelper;
+
+import com.google.gson.Gson;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NavigationStoreTest {
+    private static final int SHILO_REGION = 11310;
+    // Header, then one entry's region, plane, base, hash and exits before its node count
+    private static final int EXITS_OFFSET = 12 + 20;
+    private static final int NODE_COUNT_OFFSET = EXITS_OFFSET + PathFinder.SCENE_SIZE * PathFinder.SCENE_SIZE;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private LocationProfiles profiles;
+    private LocationProfile shilo;
+    private File file;
+    private NavigationStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        profiles = new LocationProfiles(new Gson());
+        shilo = profiles.forRegion(SHILO_REGION);
+        file = new File(folder.getRoot(), "navigation.bin");
+        store = new NavigationStore(profiles, file);
+    }
+
+    @Test
+    public void savedEntriesReadBack() {
+        byte[] exits = randomExits();
+        CollisionSnapshot snapshot = CollisionSnapshot.restore(0, TestScene.BASE_X, TestScene.BASE_Y, exits);
+        List<WorldPoint> nodes = Arrays.asList(shilo.getDepositTile(), new WorldPoint(2860, 2975, 0),
+                new WorldPoint(2840, 2950, 0));
+        store.save(Collections.singletonList(new NavigationStore.Entry(shilo, snapshot, nodes)));
+
+        assertTrue(file.isFile());
+        assertFalse("temp file left behind", new File(file.getPath() + ".tmp").exists());
+
+        List<NavigationStore.Entry> loaded = store.load();
+        assertEquals(1, loaded.size());
+        NavigationStore.Entry entry = loaded.get(0);
+        assertSame(shilo, entry.location);
+        assertEquals(0, entry.snapshot.getPlane());
+        assertEquals(TestScene.BASE_X, entry.snapshot.getBaseX());
+        assertEquals(TestScene.BASE_Y, entry.snapshot.getBaseY());
+        assertEquals(snapshot.getExitsHash(), entry.snapshot.getExitsHash());
+        assertArrayEquals(exits, entry.snapshot.getExits());
+        assertEquals(nodes, entry.nodes);
+    }
+
+    @Test
+    public void missingFileLoadsNothing() {
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    public void garbageIsRejected() throws Exception {
+        byte[] garbage = new byte[4096];
+        new Random(1).nextBytes(garbage);
+        Files.write(file.toPath(), garbage);
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    public void truncatedFileIsRejected() throws Exception {
+        byte[] saved = saveOne();
+        Files.write(file.toPath(), Arrays.copyOf(saved, saved.length / 2));
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    public void badNodeCountIsRejected() throws Exception {
+        byte[] saved = saveOne();
+        ByteBuffer.wrap(saved).putInt(NODE_COUNT_OFFSET, 1_000_000);
+        Files.write(file.toPath(), saved);
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    public void otherFormatVersionIsRejected() throws Exception {
+        byte[] saved = saveOne();
+        ByteBuffer.wrap(saved).putInt(4, 99);
+        Files.write(file.toPath(), saved);
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    public void entryWithCorruptExitsIsDropped() throws Exception {
+        byte[] saved = saveOne();
+        saved[EXITS_OFFSET + 100] ^= 0x0F;
+        Files.write(file.toPath(), saved);
+        assertTrue(store.load().isEmpty());
+    }
+
+    /**
+     * @return the bytes of a file holding one valid entry
+     */
+    private byte[] saveOne() throws Exception {
+        CollisionSnapshot snapshot = CollisionSnapshot.restore(0, TestScene.BASE_X, TestScene.BASE_Y, randomExits());
+        store.save(Collections.singletonList(new NavigationStore.Entry(shilo, snapshot,
+                Collections.singletonList(shilo.getDepositTile()))));
+        return Files.readAllBytes(file.toPath());
+    }
+
+    private static byte[] randomExits() {
+        byte[] exits = new byte[PathFinder.SCENE_SIZE * PathFinder.SCENE_SIZE];
+        Random random = new Random(42);
+        for (int i = 0; i < exits.length; i++) {
+            exits[i] = (byte) random.nextInt(16);
+        }
+        return exits;
+    }
+}
@@ -0,0 +1,366 @@
+package com.shilofishinghelper;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+/**
+ * A {@link Graphics2D} that keeps the state it is given and draws nothing, so measuring a render call
+ * measures the overlay rather than a rasterizer. Nothing it does per call allocates; font metrics come from
+ * an image graphics created once. Fill and draw calls are counted, so a test can tell an overlay that drew
+ * from one that returned early.
+ */
+class NullGraphics extends Graphics2D {
+    private static final Graphics2D METRICS = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+    int fills;
+    int draws;
+
+    private Color color = Color.BLACK;
+    private Paint paint = Color.BLACK;
+    private Color background = Color.BLACK;
+    private Font font = METRICS.getFont();
+    private Stroke stroke = new BasicStroke();
+    private Composite composite = AlphaComposite.SrcOver;
+    private Shape clip;
+
+    @Override
+    public void setColor(Color c) {
+        color = c;
+        paint = c;
+    }
+
+    @Override
+    public Color getColor() {
+        return color;
+    }
+
+    @Override
+    public void setPaint(Paint p) {
+        paint = p;
+    }
+
+    @Override
+    public Paint getPaint() {
+        return paint;
+    }
+
+    @Override
+    public void setBackground(Color c) {
+        background = c;
+    }
+
+    @Override
+    public Color getBackground() {
+        return background;
+    }
+
+    @Override
+    public void setFont(Font f) {
+        font = f;
+    }
+
+    @Override
+    public Font getFont() {
+        return font;
+    }
+
+    @Override
+    public FontMetrics getFontMetrics(Font f) {
+        return METRICS.getFontMetrics(f);
+    }
+
+    @Override
+    public void setStroke(Stroke s) {
+        stroke = s;
+    }
+
+    @Override
+    public Stroke getStroke() {
+        return stroke;
+    }
+
+    @Override
+    public void setComposite(Composite c) {
+        composite = c;
+    }
+
+    @Override
+    public Composite getComposite() {
+        return composite;
+    }
+
+    @Override
+    public void setClip(Shape s) {
+        clip = s;
+    }
+
+    @Override
+    public void setClip(int x, int y, int width, int height) {
+        clip = new Rectangle(x, y, width, height);
+    }
+
+    @Override
+    public Shape getClip() {
+        return clip;
+    }
+
+    @Override
+    public Rectangle getClipBounds() {
+        return clip == null ? null : clip.getBounds();
+    }
+
+    @Override
+    public void clip(Shape s) {
+    }
+
+    @Override
+    public void clipRect(int x, int y, int width, int height) {
+    }
+
+    @Override
+    public Graphics create() {
+        return new NullGraphics();
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    @Override
+    public GraphicsConfiguration getDeviceConfiguration() {
+        return METRICS.getDeviceConfiguration();
+    }
+
+    @Override
+    public FontRenderContext getFontRenderContext() {
+        return METRICS.getFontRenderContext();
+    }
+
+    @Override
+    public void setRenderingHint(RenderingHints.Key key, Object value) {
+    }
+
+    @Override
+    public Object getRenderingHint(RenderingHints.Key key) {
+        return null;
+    }
+
+    @Override
+    public void setRenderingHints(Map<?, ?> hints) {
+    }
+
+    @Override
+    public void addRenderingHints(Map<?, ?> hints) {
+    }
+
+    @Override
+    public RenderingHints getRenderingHints() {
+        return new RenderingHints(null);
+    }
+
+    @Override
+    public void setTransform(AffineTransform transform) {
+    }
+
+    @Override
+    public AffineTransform getTransform() {
+        return new AffineTransform();
+    }
+
+    @Override
+    public void transform(AffineTransform transform) {
+    }
+
+    @Override
+    public void translate(int x, int y) {
+    }
+
+    @Override
+    public void translate(double x, double y) {
+    }
+
+    @Override
+    public void rotate(double theta) {
+    }
+
+    @Override
+    public void rotate(double theta, double x, double y) {
+    }
+
+    @Override
+    public void scale(double sx, double sy) {
+    }
+
+    @Override
+    public void shear(double shx, double shy) {
+    }
+
+    @Override
+    public void setPaintMode() {
+    }
+
+    @Override
+    public void setXORMode(Color c) {
+    }
+
+    @Override
+    public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+        return false;
+    }
+
+    @Override
+    public void draw(Shape s) {
+        draws++;
+    }
+
+    @Override
+    public void fill(Shape s) {
+        fills++;
+    }
+
+    @Override
+    public void drawString(String str, int x, int y) {
+        draws++;
+    }
+
+    @Override
+    public void drawString(String str, float x, float y) {
+        draws++;
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+        draws++;
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+        draws++;
+    }
+
+    @Override
+    public void drawGlyphVector(GlyphVector g, float x, float y) {
+        draws++;
+    }
+
+    @Override
+    public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) {
+        return true;
+    }
+
+    @Override
+    public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+    }
+
+    @Override
+    public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+    }
+
+    @Override
+    public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2,
+                             ImageObserver observer) {
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2,
+                             Color bgcolor, ImageObserver observer) {
+        return true;
+    }
+
+    @Override
+    public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        draws++;
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        fills++;
+    }
+
+    @Override
+    public void clearRect(int x, int y, int width, int height) {
+    }
+
+    @Override
+    public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        draws++;
+    }
+
+    @Override
+    public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        fills++;
+    }
+
+    @Override
+    public void drawOval(int x, int y, int width, int height) {
+        draws++;
+    }
+
+    @Override
+    public void fillOval(int x, int y, int width, int height) {
+        fills++;
+    }
+
+    @Override
+    public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        draws++;
+    }
+
+    @Override
+    public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        fills++;
+    }
+
+    @Override
+    public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+        draws++;
+    }
+
+    @Override
+    public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        draws++;
+    }
+
+    @Override
+    public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        fills++;
+    }
+}
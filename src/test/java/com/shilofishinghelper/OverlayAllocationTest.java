@@ -0,0 +1,183 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.Client;
+import net.runelite.api.Perspective;
+import net.runelite.api.Player;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Allocation budgets for the overlay render paths. Each overlay is rendered into a {@link NullGraphics} in a
+ * warm loop against the replay stand-ins, and the bytes the test thread allocated per frame must stay within
+ * the overlay's budget on top of what the RuneLite API calls it makes allocate themselves.
+ */
+public class OverlayAllocationTest {
+    // Average bytes per steady-state frame, beyond the API baseline
+    private static final long PATH_BUDGET = 0;
+    private static final long INVENTORY_BUDGET = 0;
+    private static final long IDLE_BUDGET = 0;
+    // Per projected tile: appending a tile's polygon to the merged path takes a path iterator
+    private static final long REPROJECTION_BUDGET_PER_TILE = 64;
+
+    // Enough calls for the JIT to settle before measuring
+    private static final int WARMUP_FRAMES = 20_000;
+    private static final int FRAMES = 10_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final NullGraphics graphics = new NullGraphics();
+    private ReplayRunner runner;
+    // Keeps the baseline's results reachable so it cannot be optimized away
+    private Object sink;
+    // Two camera poses close enough that the route stays in front of the camera in both
+    private static final Integer[] CAMERA_YAWS = {0, 16};
+    private static final Integer[] CAMERA_PITCHES = {300, 310};
+    private int pose;
+
+    @Before
+    public void setUp() throws Exception {
+        Assume.assumeTrue(THREADS.isThreadAllocatedMemorySupported());
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        runner = new ReplayRunner();
+        runner.movePlayer(2850, 2970);
+        runner.spawnNpc(1, 1527, "Rod Fishing spot", 2860, 2975);
+        runner.setInventory(10, 335);
+        runner.tick(1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (runner != null) {
+            runner.shutDown();
+        }
+    }
+
+    @Test
+    public void spotPathStaysWithinBudget() {
+        assertWithinBudget("path", PATH_BUDGET, 0, () -> runner.pathOverlay.render(graphics));
+        assertPathDrawn();
+    }
+
+    @Test
+    public void depositPathStaysWithinBudget() {
+        runner.setInventory(28, 335);
+        runner.tick(1);
+        assertWithinBudget("deposit path", PATH_BUDGET, 0, () -> runner.pathOverlay.render(graphics));
+        assertPathDrawn();
+    }
+
+    @Test
+    public void reprojectedPathStaysWithinBudget() {
+        // The camera turns between every two frames, so every frame projects the whole route again
+        TileProjectionCache projectionCache = runner.injector.getInstance(TileProjectionCache.class);
+        long framesBefore = projectionCache.getProjectedFrames();
+        long tilesBefore = projectionCache.getProjectedTiles();
+        long bytes = bytesPerFrame(() -> {
+            turnCamera();
+            runner.pathOverlay.render(graphics);
+        });
+        assertPathDrawn();
+
+        long frames = projectionCache.getProjectedFrames() - framesBefore;
+        assertEquals("frames that projected", WARMUP_FRAMES + FRAMES, frames);
+        int tiles = (int) ((projectionCache.getProjectedTiles() - tilesBefore) / frames);
+        assertTrue("no tiles projected", tiles > 0);
+
+        long allocated = bytes - bytesPerFrame(projectionApiCalls(tiles));
+        long budget = REPROJECTION_BUDGET_PER_TILE * tiles;
+        assertTrue(String.format("reprojected path overlay allocates %d bytes per frame for %d tiles, budget is %d",
+                allocated, tiles, budget), allocated <= budget);
+    }
+
+    @Test
+    public void inventoryCountStaysWithinBudget() {
+        long baseline = bytesPerFrame(this::inventoryApiCalls);
+        assertWithinBudget("inventory", INVENTORY_BUDGET, baseline, () -> runner.inventoryOverlay.render(graphics));
+    }
+
+    @Test
+    public void idleTintStaysWithinBudget() {
+        for (IdleOverlayStyle style : IdleOverlayStyle.values()) {
+            RenderSettings settings = new RenderSettings(new ShiloFishingConfig() {
+                @Override
+                public IdleOverlayStyle idleOverlayStyle() {
+                    return style;
+                }
+            });
+            runner.idleOverlay.setPlan(new FramePlan(settings, null, false, null, null,
+                    Collections.emptyList(), null, null, IdleDetector.Reason.INTERRUPTED));
+            assertWithinBudget("idle " + style, IDLE_BUDGET, 0, () -> runner.idleOverlay.render(graphics));
+        }
+    }
+
+    private void assertPathDrawn() {
+        assertTrue("path never filled", graphics.fills > 0);
+        assertTrue("path never stroked", graphics.draws > 0);
+    }
+
+    private void turnCamera() {
+        pose ^= 1;
+        runner.world.cameraYaw = CAMERA_YAWS[pose];
+        runner.world.cameraPitch = CAMERA_PITCHES[pose];
+    }
+
+    /**
+     * The API calls projecting {@code count} tiles takes; the LocalPoints, Points and Polygons they return
+     * are allocated by RuneLite, not the plugin.
+     */
+    private Runnable projectionApiCalls(int count) {
+        Client client = runner.world.client;
+        WorldPoint[] tiles = new WorldPoint[count];
+        for (int i = 0; i < count; i++) {
+            tiles[i] = runner.world.playerLocation.dx(i + 1);
+        }
+        return () -> {
+            for (WorldPoint tile : tiles) {
+                LocalPoint lp = LocalPoint.fromWorld(client, tile);
+                sink = lp == null ? null : Perspective.getCanvasTilePoly(client, lp);
+            }
+        };
+    }
+
+    /**
+     * The API calls the inventory overlay makes each frame; the LocalPoint and Point they return are
+     * allocated by RuneLite, not the plugin.
+     */
+    private void inventoryApiCalls() {
+        Client client = runner.world.client;
+        Player player = client.getLocalPlayer();
+        LocalPoint lp = player.getLocalLocation();
+        sink = lp == null ? null : Perspective.localToCanvas(client, lp, client.getPlane(), player.getLogicalHeight() / 2);
+    }
+
+    private static void assertWithinBudget(String overlay, long budget, long baseline, Runnable frame) {
+        long allocated = bytesPerFrame(frame) - baseline;
+        assertTrue(String.format("%s overlay allocates %d bytes per frame, budget is %d", overlay, allocated, budget),
+                allocated <= budget);
+    }
+
+    private static long bytesPerFrame(Runnable frame) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame.run();
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = THREADS.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < FRAMES; i++) {
+            frame.run();
+        }
+        return (THREADS.getThreadAllocatedBytes(thread) - before) / FRAMES;
+    }
+}
@@ -0,0 +1,260 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+import static com.shilofishinghelper.TestScene.BASE_X;
+import static com.shilofishinghelper.TestScene.BASE_Y;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks {@link PathFinder} against the WorldPoint/HashMap breadth-first search it replaced, on seeded
+ * random scenes with blocked tiles and walls. A* must find routes exactly as short as the old search, and
+ * the multi-target search must pick the same spot and, for a single target, walk the same tiles.
+ */
+public class PathFinderTest {
+    private static final long SEED = 0x5348_4C4FL;
+    private static final int GRIDS = 100;
+    private static final int QUERIES_PER_GRID = 15;
+    // Starts and targets are this close, so most are reachable and many routes have to go around something
+    private static final int MAX_OFFSET = 30;
+    // The old search stops 80 tiles out and the new ones after MAX_PATH_LENGTH steps; below this both are exhaustive
+    private static final int COMPARABLE_LENGTH = 60;
+    private static final int LEGACY_MAX_DISTANCE = 80;
+
+    private final PathFinder pathFinder = new PathFinder();
+
+    @Test
+    public void findPathIsAsShortAsLegacySearch() {
+        Random random = new Random(SEED);
+        int compared = 0;
+        for (int grid = 0; grid < GRIDS; grid++) {
+            int[][] flags = randomScene(random);
+            byte[] exits = Walkability.build(flags);
+            for (int q = 0; q < QUERIES_PER_GRID; q++) {
+                WorldPoint start = randomOpenTile(random, flags);
+                WorldPoint end = near(random, start);
+                String where = "grid " + grid + " from " + start + " to " + end;
+
+                int legacy = legacyDistance(flags, start, end);
+                List<WorldPoint> path = pathFinder.findPath(exits, BASE_X, BASE_Y, start, end);
+                int found = isAdjacent(start, end) ? 0 : path.isEmpty() ? -1 : path.size();
+                if (comparable(legacy) || comparable(found)) {
+                    assertEquals(where, legacy, found);
+                    compared++;
+                }
+                if (!path.isEmpty()) {
+                    assertWalkable(where, flags, start, path, end);
+                }
+            }
+        }
+        assertTrue("only " + compared + " routes compared", compared > GRIDS * QUERIES_PER_GRID / 2);
+    }
+
+    @Test
+    public void findNearestPicksTheSameSpotAsLegacySearch() {
+        Random random = new Random(SEED + 1);
+        int compared = 0;
+        for (int grid = 0; grid < GRIDS; grid++) {
+            int[][] flags = randomScene(random);
+            byte[] exits = Walkability.build(flags);
+            for (int q = 0; q < QUERIES_PER_GRID; q++) {
+                WorldPoint start = randomOpenTile(random, flags);
+                List<WorldPoint> targets = new ArrayList<>();
+                for (int t = 1 + random.nextInt(5); t > 0; t--) {
+                    targets.add(near(random, start));
+                }
+                String where = "grid " + grid + " from " + start + " to " + targets;
+
+                // The old plugin searched each spot separately and kept the first shortest
+                int best = -1;
+                int bestDistance = Integer.MAX_VALUE;
+                for (int t = 0; t < targets.size(); t++) {
+                    int distance = legacyDistance(flags, start, targets.get(t));
+                    if (distance >= 0 && distance < bestDistance) {
+                        best = t;
+                        bestDistance = distance;
+                    }
+                }
+
+                PathFinder.Result nearest = pathFinder.findNearest(exits, BASE_X, BASE_Y, start, targets);
+                if (comparable(bestDistance) || (nearest != null && comparable(nearest.getPath().size()))) {
+                    assertNotNull(where, nearest);
+                    assertEquals(where, best, nearest.getTarget());
+                    assertEquals(where, bestDistance, nearest.getPath().size());
+                    compared++;
+                }
+                if (nearest != null && !nearest.getPath().isEmpty()) {
+                    assertWalkable(where, flags, start, nearest.getPath(), targets.get(nearest.getTarget()));
+                }
+            }
+        }
+        assertTrue("only " + compared + " searches compared", compared > GRIDS * QUERIES_PER_GRID / 2);
+    }
+
+    @Test
+    public void singleTargetSearchWalksTheLegacyRoute() {
+        Random random = new Random(SEED + 2);
+        int compared = 0;
+        for (int grid = 0; grid < GRIDS; grid++) {
+            int[][] flags = randomScene(random);
+            byte[] exits = Walkability.build(flags);
+            for (int q = 0; q < QUERIES_PER_GRID; q++) {
+                WorldPoint start = randomOpenTile(random, flags);
+                WorldPoint end = near(random, start);
+                List<WorldPoint> legacy = legacyPath(flags, start, end);
+                if (legacy.isEmpty() || legacy.size() > COMPARABLE_LENGTH) {
+                    continue;
+                }
+
+                // Same visiting order as the old search, so not just as short but the same tiles
+                PathFinder.Result nearest = pathFinder.findNearest(exits, BASE_X, BASE_Y, start,
+                        Collections.singletonList(end));
+                assertNotNull(nearest);
+                assertEquals("grid " + grid + " from " + start + " to " + end, legacy, nearest.getPath());
+                compared++;
+            }
+        }
+        assertTrue("only " + compared + " routes compared", compared > GRIDS * QUERIES_PER_GRID / 2);
+    }
+
+    private static boolean comparable(int distance) {
+        return distance >= 0 && distance <= COMPARABLE_LENGTH;
+    }
+
+    /**
+     * A quarter of the tiles fully blocked, and a wall on one side of one tile in twenty.
+     */
+    private static int[][] randomScene(Random random) {
+        int[] walls = {
+                CollisionDataFlag.BLOCK_MOVEMENT_WEST,
+                CollisionDataFlag.BLOCK_MOVEMENT_EAST,
+                CollisionDataFlag.BLOCK_MOVEMENT_SOUTH,
+                CollisionDataFlag.BLOCK_MOVEMENT_NORTH,
+        };
+        int[][] flags = new int[PathFinder.SCENE_SIZE][PathFinder.SCENE_SIZE];
+        for (int x = 0; x < PathFinder.SCENE_SIZE; x++) {
+            for (int y = 0; y < PathFinder.SCENE_SIZE; y++) {
+                if (random.nextInt(4) == 0) {
+                    flags[x][y] |= CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+                }
+                if (random.nextInt(20) == 0) {
+                    flags[x][y] |= walls[random.nextInt(walls.length)];
+                }
+            }
+        }
+        return flags;
+    }
+
+    private static WorldPoint randomOpenTile(Random random, int[][] flags) {
+        while (true) {
+            int x = random.nextInt(PathFinder.SCENE_SIZE);
+            int y = random.nextInt(PathFinder.SCENE_SIZE);
+            if ((flags[x][y] & CollisionDataFlag.BLOCK_MOVEMENT_FULL) == 0) {
+                return new WorldPoint(BASE_X + x, BASE_Y + y, 0);
+            }
+        }
+    }
+
+    /**
+     * @return a tile within {@link #MAX_OFFSET} of {@code tile} in both directions, blocked or not, like a spot
+     */
+    private static WorldPoint near(Random random, WorldPoint tile) {
+        int x = clamp(tile.getX() - BASE_X + random.nextInt(2 * MAX_OFFSET + 1) - MAX_OFFSET);
+        int y = clamp(tile.getY() - BASE_Y + random.nextInt(2 * MAX_OFFSET + 1) - MAX_OFFSET);
+        return new WorldPoint(BASE_X + x, BASE_Y + y, 0);
+    }
+
+    private static int clamp(int local) {
+        return Math.max(0, Math.min(PathFinder.SCENE_SIZE - 1, local));
+    }
+
+    private static void assertWalkable(String where, int[][] flags, WorldPoint start, List<WorldPoint> path, WorldPoint end) {
+        WorldPoint from = start;
+        for (WorldPoint to : path) {
+            assertTrue(where + ": step " + from + " -> " + to, PathFinder.canMove(flags, from.getX() - BASE_X,
+                    from.getY() - BASE_Y, to.getX() - from.getX(), to.getY() - from.getY()));
+            from = to;
+        }
+        assertTrue(where + ": ends on " + from, isAdjacent(from, end));
+    }
+
+    private static boolean isAdjacent(WorldPoint a, WorldPoint b) {
+        return a.getPlane() == b.getPlane() && Math.abs(a.getX() - b.getX()) + Math.abs(a.getY() - b.getY()) == 1;
+    }
+
+    /**
+     * @return the old search's route length, 0 if {@code start} is already adjacent, -1 if it found none
+     */
+    private static int legacyDistance(int[][] flags, WorldPoint start, WorldPoint end) {
+        if (isAdjacent(start, end)) {
+            return 0;
+        }
+        List<WorldPoint> path = legacyPath(flags, start, end);
+        return path.isEmpty() ? -1 : path.size();
+    }
+
+    /**
+     * The search the plugin shipped with, as kept for the benchmarks in {@code LegacyPathFinder}; the test
+     * source set cannot see that one.
+     */
+    private static List<WorldPoint> legacyPath(int[][] flags, WorldPoint start, WorldPoint end) {
+        Queue<WorldPoint> frontier = new LinkedList<>();
+        Map<WorldPoint, WorldPoint> cameFrom = new HashMap<>();
+        Set<WorldPoint> visited = new HashSet<>();
+
+        frontier.add(start);
+        visited.add(start);
+        cameFrom.put(start, null);
+
+        while (!frontier.isEmpty()) {
+            WorldPoint current = frontier.poll();
+
+            if (isAdjacent(current, end)) {
+                List<WorldPoint> path = new ArrayList<>();
+                for (WorldPoint tile = current; tile != null && !tile.equals(start); tile = cameFrom.get(tile)) {
+                    path.add(tile);
+                }
+                Collections.reverse(path);
+                return path;
+            }
+
+            if (current.distanceTo(start) > LEGACY_MAX_DISTANCE)
+                continue;
+
+            int x = current.getX() - BASE_X;
+            int y = current.getY() - BASE_Y;
+            if (!PathFinder.inScene(x, y))
+                continue;
+
+            int[][] steps = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+            for (int[] step : steps) {
+                if (!PathFinder.canMove(flags, x, y, step[0], step[1]))
+                    continue;
+
+                WorldPoint neighbor = new WorldPoint(current.getX() + step[0], current.getY() + step[1], current.getPlane());
+                if (!visited.add(neighbor))
+                    continue;
+
+                cameFrom.put(neighbor, current);
+                frontier.add(neighbor);
+            }
+        }
+
+        return Collections.emptyList();
+    }
+}
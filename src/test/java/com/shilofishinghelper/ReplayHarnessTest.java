@@ -0,0 +1,62 @@
+package com.shilofishinghelper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+public class ReplayHarnessTest {
+    // Several times what a replay takes on a slow machine with a cold JIT, so machine noise never fails the
+    // build and a regression that multiplies the work per tick or per frame does
+    private static final long TICK_P95_LIMIT = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long FRAME_P95_LIMIT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private ReplayRunner runner;
+
+    @Before
+    public void setUp() throws Exception {
+        runner = new ReplayRunner();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        runner.shutDown();
+
+        String timings = runner.timingSummary();
+        assertTrue("ticks too slow: " + timings, runner.tickP95Nanos() <= TICK_P95_LIMIT);
+        assertTrue("frames too slow: " + timings, runner.frameP95Nanos() <= FRAME_P95_LIMIT);
+    }
+
+    @Test
+    public void idleTintAfterFishingStops() throws Exception {
+        TickScript.load("/replay/fishing_stops.tick").replay(runner);
+    }
+
+    @Test
+    public void clickBeforeStoppingSuppressesIdleTint() throws Exception {
+        TickScript.load("/replay/click_while_fishing.tick").replay(runner);
+    }
+
+    @Test
+    public void retargetsWhenSpotsMove() throws Exception {
+        TickScript.load("/replay/spot_moves.tick").replay(runner);
+    }
+
+    @Test
+    public void followsSpotThatShifts() throws Exception {
+        TickScript.load("/replay/spot_shifts.tick").replay(runner);
+    }
+
+    @Test
+    public void ignoresSpotsAcrossTheRiver() throws Exception {
+        TickScript.load("/replay/river_crossing.tick").replay(runner);
+    }
+
+    @Test
+    public void stopsOutsideShilo() throws Exception {
+        TickScript.load("/replay/leaves_area.tick").replay(runner);
+    }
+}
@@ -0,0 +1,306 @@
+package com.shilofishinghelper;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.InventoryID;
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.NPC;
+import net.runelite.api.Tile;
+import net.runelite.api.events.AnimationChanged;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.InteractingChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.ui.overlay.OverlayManager;
+import net.runelite.client.ui.overlay.outline.ModelOutlineRenderer;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Drives a {@link ShiloFishingPlugin} and its three overlays against a {@link FakeWorld} without a game
+ * client. Events are delivered to the plugin's {@code @Subscribe} methods the way the event bus would, each
+ * tick is followed by a number of rendered frames, and every tick and frame is timed so a test can hold them
+ * to a limit.
+ */
+class ReplayRunner {
+    // The first tick and frame load classes and fonts, so they are left out of the percentiles
+    private static final int WARMUP_SAMPLES = 1;
+
+    final FakeWorld world = new FakeWorld();
+    final ShiloFishingPlugin plugin;
+    final ShiloFishingPathOverlay pathOverlay;
+    final ShiloFishingInventoryOverlay inventoryOverlay;
+    final ShiloFishingIdleOverlay idleOverlay;
+    final Injector injector;
+
+    private final ExecutorService searchExecutor = MoreExecutors.newDirectExecutorService();
+    private final BufferedImage sceneLayer = layer();
+    // The idle tint goes on its own layer so path tiles can never be mistaken for it
+    private final BufferedImage idleLayer = layer();
+
+    private long[] tickNanos = new long[64];
+    private int ticks;
+    private long[] frameNanos = new long[256];
+    private int frames;
+
+    ReplayRunner() throws Exception {
+        // Bound to an instance like the plugin manager does, so overlays can take the plugin in their constructor
+        ShiloFishingPlugin plugin = new ShiloFishingPlugin();
+        injector = Guice.createInjector(binder -> {
+            binder.bind(ShiloFishingPlugin.class).toInstance(plugin);
+            binder.bind(Client.class).toInstance(world.client);
+            binder.bind(ClientThread.class).toInstance(clientThread());
+            binder.bind(OverlayManager.class).toInstance(mock(OverlayManager.class));
+            binder.bind(ModelOutlineRenderer.class).toInstance(mock(ModelOutlineRenderer.class));
+            // Nothing is loaded from or saved to disk; replays always start cold
+            binder.bind(ScheduledExecutorService.class).toInstance(mock(ScheduledExecutorService.class));
+            binder.bind(ShiloFishingConfig.class).toInstance(new ShiloFishingConfig() {
+            });
+        });
+
+        this.plugin = plugin;
+        pathOverlay = injector.getInstance(ShiloFishingPathOverlay.class);
+        inventoryOverlay = injector.getInstance(ShiloFishingInventoryOverlay.class);
+        idleOverlay = injector.getInstance(ShiloFishingIdleOverlay.class);
+
+        // Run searches synchronously so replays are deterministic
+        injector.getInstance(PathfindingWorker.class).start(searchExecutor);
+        plugin.startUp();
+        post(gameState(GameState.LOGGED_IN));
+    }
+
+    void shutDown() throws Exception {
+        plugin.shutDown();
+        searchExecutor.shutdown();
+    }
+
+    /**
+     * Delivers {@code event} to every {@code @Subscribe} method of the plugin that accepts it.
+     */
+    void post(Object event) {
+        for (Method method : ShiloFishingPlugin.class.getDeclaredMethods()) {
+            if (!method.isAnnotationPresent(Subscribe.class) || method.getParameterCount() != 1
+                    || !method.getParameterTypes()[0].isInstance(event)) {
+                continue;
+            }
+
+            try {
+                method.setAccessible(true);
+                method.invoke(plugin, event);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException("Handler " + method.getName() + " failed", e.getCause());
+            }
+        }
+    }
+
+    void spawnNpc(int index, int id, String name, int x, int y) {
+        FakeWorld.FakeNpc fake = world.spawnNpc(index, id, name, world.world(x, y));
+        post(new NpcSpawned(fake.npc));
+    }
+
+    void despawnNpc(int index) {
+        FakeWorld.FakeNpc fake = world.npcs.remove(index);
+        if (fake != null) {
+            post(new NpcDespawned(fake.npc));
+        }
+    }
+
+    void moveNpc(int index, int x, int y) {
+        world.npcs.get(index).location = world.world(x, y);
+    }
+
+    void movePlayer(int x, int y) {
+        world.playerLocation = world.world(x, y);
+    }
+
+    void setAnimation(int animation) {
+        world.animation = animation;
+        AnimationChanged event = new AnimationChanged();
+        event.setActor(world.player);
+        post(event);
+    }
+
+    void setInteracting(Integer npcIndex) {
+        NPC target = npcIndex == null ? null : world.npcs.get(npcIndex).npc;
+        world.interacting = target;
+        post(new InteractingChanged(world.player, target));
+    }
+
+    void setInventory(int filledSlots, int itemId) {
+        world.fillInventory(filledSlots, itemId);
+        post(new ItemContainerChanged(InventoryID.INVENTORY.getId(), world.inventory));
+    }
+
+    /**
+     * Blocks a rectangle of tiles the way a spawned wall or object would, including the spawn event.
+     */
+    void block(int fromX, int fromY, int toX, int toY) {
+        world.block(fromX, fromY, toX, toY, CollisionDataFlag.BLOCK_MOVEMENT_FULL);
+        WallObjectSpawned event = new WallObjectSpawned();
+        event.setTile(Stubs.of(Tile.class).returning("getPlane", world.playerLocation.getPlane()).build());
+        post(event);
+    }
+
+    void click() {
+        post(mock(MenuOptionClicked.class));
+    }
+
+    /**
+     * Runs one game tick followed by {@code framesPerTick} rendered frames.
+     */
+    void tick(int framesPerTick) {
+        long start = System.nanoTime();
+        plugin.onGameTick(null);
+        record(System.nanoTime() - start, true);
+
+        for (int i = 0; i < framesPerTick; i++) {
+            renderFrame();
+        }
+    }
+
+    /**
+     * Renders the three overlays into an off-screen frame in the order RuneLite layers them.
+     */
+    void renderFrame() {
+        Graphics2D scene = clear(sceneLayer);
+        Graphics2D idle = clear(idleLayer);
+        try {
+            long start = System.nanoTime();
+            pathOverlay.render(scene);
+            inventoryOverlay.render(scene);
+            idleOverlay.render(idle);
+            record(System.nanoTime() - start, false);
+        } finally {
+            scene.dispose();
+            idle.dispose();
+        }
+    }
+
+    /**
+     * @return whether the last frame shows the idle tint, sampled just inside the viewport corner
+     */
+    boolean idleTintVisible() {
+        return (idleLayer.getRGB(4, 4) >>> 24) != 0;
+    }
+
+    private static BufferedImage layer() {
+        return new BufferedImage(FakeWorld.VIEWPORT_WIDTH, FakeWorld.VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static Graphics2D clear(BufferedImage image) {
+        Graphics2D graphics = image.createGraphics();
+        graphics.setComposite(AlphaComposite.Clear);
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.setComposite(AlphaComposite.SrcOver);
+        return graphics;
+    }
+
+    NPC npc(int index) {
+        FakeWorld.FakeNpc fake = world.npcs.get(index);
+        return fake == null ? null : fake.npc;
+    }
+
+    String timingSummary() {
+        return String.format("ticks: %s, frames: %s", summarize(tickNanos, ticks), summarize(frameNanos, frames));
+    }
+
+    /**
+     * @return the 95th percentile of the tick times after warm-up, or 0 if there were none
+     */
+    long tickP95Nanos() {
+        return p95(tickNanos, ticks);
+    }
+
+    /**
+     * @return the 95th percentile of the frame times after warm-up, or 0 if there were none
+     */
+    long frameP95Nanos() {
+        return p95(frameNanos, frames);
+    }
+
+    private void record(long nanos, boolean tick) {
+        if (tick) {
+            if (ticks == tickNanos.length) {
+                tickNanos = Arrays.copyOf(tickNanos, ticks * 2);
+            }
+            tickNanos[ticks++] = nanos;
+        } else {
+            if (frames == frameNanos.length) {
+                frameNanos = Arrays.copyOf(frameNanos, frames * 2);
+            }
+            frameNanos[frames++] = nanos;
+        }
+    }
+
+    private static String summarize(long[] samples, int count) {
+        long[] sorted = steadyState(samples, count);
+        if (sorted.length == 0) {
+            return "n=0";
+        }
+
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+        return String.format("n=%d mean=%.1fus p95=%.1fus max=%.1fus", sorted.length, total / 1000.0 / sorted.length,
+                percentile95(sorted) / 1000.0, sorted[sorted.length - 1] / 1000.0);
+    }
+
+    private static long p95(long[] samples, int count) {
+        long[] sorted = steadyState(samples, count);
+        return sorted.length == 0 ? 0 : percentile95(sorted);
+    }
+
+    /**
+     * @return the samples after warm-up, sorted
+     */
+    private static long[] steadyState(long[] samples, int count) {
+        long[] sorted = Arrays.copyOfRange(samples, Math.min(WARMUP_SAMPLES, count), count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static long percentile95(long[] sorted) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * 0.95) - 1)];
+    }
+
+    /**
+     * Runs {@code invoke} straight away, as the client thread does when it is the caller, so shutdown
+     * cleans up; {@code invokeLater} callbacks are dropped.
+     */
+    private static ClientThread clientThread() {
+        ClientThread clientThread = mock(ClientThread.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(clientThread).invoke(any(Runnable.class));
+        return clientThread;
+    }
+
+    private static GameStateChanged gameState(GameState state) {
+        GameStateChanged event = new GameStateChanged();
+        event.setGameState(state);
+        return event;
+    }
+}
@@ -0,0 +1,161 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.coords.WorldPoint;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.shilofishinghelper.TestScene.BASE_X;
+import static com.shilofishinghelper.TestScene.BASE_Y;
+import static com.shilofishinghelper.TestScene.tile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives {@link RoutePlanner} directly: the replays are usually answered before the planner is asked, so
+ * trimming and repairing are checked here against routes from a full search.
+ */
+public class RoutePlannerTest {
+    private static final long SPOTS_KEY = 1;
+    private static final long SHIFTED_KEY = 2;
+
+    private final PathFinder pathFinder = new PathFinder();
+    private PerfStats perfStats;
+    private RoutePlanner planner;
+
+    private final TestScene scene = new TestScene();
+    private final WorldPoint start = tile(20, 50);
+    private final List<WorldPoint> spots = Arrays.asList(tile(44, 50), tile(20, 90));
+
+    @Before
+    public void setUp() {
+        perfStats = new PerfStats(new RouteCache(), new TileProjectionCache());
+        perfStats.setEnabled(true);
+        planner = new RoutePlanner(perfStats);
+    }
+
+    @Test
+    public void walkingAlongTheRouteTrimsIt() {
+        CollisionSnapshot snapshot = scene.snapshot();
+        Route route = search(snapshot, start, spots, SPOTS_KEY);
+        planner.accept(route, snapshot, spots);
+
+        for (int step = 0; step < 10; step++) {
+            WorldPoint at = route.getTiles().get(0);
+            Route next = planner.plan(snapshot, at, spots, SPOTS_KEY);
+            assertNotNull("step " + step, next);
+            assertEquals(at, next.getStart());
+            assertEquals(0, next.getTarget());
+            assertEquals(route.getTiles().subList(1, route.getTiles().size()), next.getTiles());
+
+            planner.accept(next, snapshot, spots);
+            route = next;
+        }
+        assertEquals("trimming searched", 0, perfStats.getSearchExpansions().count());
+    }
+
+    @Test
+    public void shiftedSpotIsRepairedWithinBudget() {
+        CollisionSnapshot snapshot = scene.snapshot();
+        Route route = search(snapshot, start, spots, SPOTS_KEY);
+        planner.accept(route, snapshot, spots);
+
+        WorldPoint at = route.getTiles().get(5);
+        List<WorldPoint> shifted = Arrays.asList(tile(46, 52), tile(20, 90));
+        Route repaired = planner.plan(snapshot, at, shifted, SHIFTED_KEY);
+
+        assertNotNull(repaired);
+        assertEquals(0, repaired.getTarget());
+        assertShortest(snapshot, at, shifted.get(0), repaired);
+        assertWithinBudget();
+    }
+
+    @Test
+    public void newWallIsRepairedWithinBudget() {
+        CollisionSnapshot before = scene.snapshot();
+        Route route = search(before, start, spots, SPOTS_KEY);
+        planner.accept(route, before, spots);
+
+        // Across the route, a few tiles ahead of the player
+        scene.block(30, 48, 30, 52);
+        CollisionSnapshot after = scene.snapshot();
+        WorldPoint at = route.getTiles().get(2);
+        Route repaired = planner.plan(after, at, spots, SPOTS_KEY);
+
+        assertNotNull(repaired);
+        assertEquals(0, repaired.getTarget());
+        assertShortest(after, at, spots.get(0), repaired);
+        assertWithinBudget();
+    }
+
+    @Test
+    public void closerSpawnedSpotNeedsAFullSearch() {
+        CollisionSnapshot snapshot = scene.snapshot();
+        Route route = search(snapshot, start, spots, SPOTS_KEY);
+        planner.accept(route, snapshot, spots);
+
+        // The target is still there, but the new spot is a few steps away
+        WorldPoint at = route.getTiles().get(4);
+        List<WorldPoint> spawned = Arrays.asList(tile(44, 50), tile(20, 90), tile(25, 54));
+        assertNull(planner.plan(snapshot, at, spawned, SHIFTED_KEY));
+    }
+
+    @Test
+    public void fartherSpawnedSpotKeepsTheRoute() {
+        CollisionSnapshot snapshot = scene.snapshot();
+        Route route = search(snapshot, start, spots, SPOTS_KEY);
+        planner.accept(route, snapshot, spots);
+
+        WorldPoint at = route.getTiles().get(4);
+        List<WorldPoint> spawned = Arrays.asList(tile(60, 10), tile(44, 50), tile(20, 90));
+        Route next = planner.plan(snapshot, at, spawned, SHIFTED_KEY);
+        assertNotNull(next);
+        assertEquals(1, next.getTarget());
+        assertEquals(route.getTiles().subList(5, route.getTiles().size()), next.getTiles());
+    }
+
+    @Test
+    public void openedExitNeedsAFullSearch() {
+        scene.block(30, 40, 30, 60);
+        CollisionSnapshot before = scene.snapshot();
+        Route route = search(before, start, spots, SPOTS_KEY);
+        planner.accept(route, before, spots);
+
+        // The wall is gone, so a much shorter route may exist that no repair of the old one finds
+        scene.unblock(30, 50, 30, 50);
+        assertNull(planner.plan(scene.snapshot(), route.getTiles().get(0), spots, SPOTS_KEY));
+    }
+
+    private void assertShortest(CollisionSnapshot snapshot, WorldPoint from, WorldPoint spot, Route route) {
+        byte[] exits = snapshot.getExits();
+        WorldPoint previous = from;
+        for (WorldPoint next : route.getTiles()) {
+            assertTrue("step " + previous + " -> " + next, Walkability.canMove(exits, previous.getX() - BASE_X,
+                    previous.getY() - BASE_Y, next.getX() - previous.getX(), next.getY() - previous.getY()));
+            previous = next;
+        }
+        assertEquals("ends next to the spot", 1,
+                Math.abs(previous.getX() - spot.getX()) + Math.abs(previous.getY() - spot.getY()));
+
+        PathFinder.Result shortest = pathFinder.findNearest(exits, BASE_X, BASE_Y, from, Collections.singletonList(spot));
+        assertNotNull(shortest);
+        assertEquals(shortest.getPath().size(), route.getTiles().size());
+    }
+
+    private void assertWithinBudget() {
+        PerfStats.Histogram expansions = perfStats.getSearchExpansions();
+        assertEquals("repairs", 1, expansions.count());
+        assertTrue("expanded " + expansions.max(), expansions.max() <= RoutePlanner.REPAIR_BUDGET);
+    }
+
+    private Route search(CollisionSnapshot snapshot, WorldPoint from, List<WorldPoint> targets, long key) {
+        PathFinder.Result nearest = pathFinder.findNearest(snapshot.getExits(), BASE_X, BASE_Y, from, targets);
+        assertNotNull(nearest);
+        return Route.of(from, key, nearest.getTarget(), nearest.getPath());
+    }
+}
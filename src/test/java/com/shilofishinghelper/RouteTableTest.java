@@ -0,0 +1,107 @@
+package com.shilofishinghelper;
+
+import com.google.gson.Gson;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.shilofishinghelper.TestScene.tile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * The table only answers from fields that have been built and installed, and a build started before the
+ * collision data changed is thrown away.
+ */
+public class RouteTableTest {
+    private static final int SHILO_REGION = 11310;
+    private static final long SPOTS_KEY = 1;
+
+    private final TestScene scene = new TestScene();
+    private final WorldPoint start = tile(30, 60);
+    private final List<WorldPoint> spots = Arrays.asList(tile(40, 60), tile(30, 80));
+    private RouteTable table;
+
+    @Before
+    public void setUp() {
+        table = new RouteTable(new LocationProfiles(new Gson()).forRegion(SHILO_REGION));
+    }
+
+    @Test
+    public void answersOnceFieldsAreInstalled() {
+        CollisionSnapshot snapshot = scene.snapshot();
+        table.update(snapshot, spots);
+        assertNull(table.nearest(snapshot, start, spots, SPOTS_KEY));
+        assertNull(table.depositPath(snapshot, start));
+        assertNull("nothing to save yet", table.getSnapshot());
+
+        RouteTable.FieldBuild build = table.startBuild();
+        assertNotNull(build);
+        assertNull("second build while one runs", table.startBuild());
+
+        build.run();
+        assertNull("answered before install", table.nearest(snapshot, start, spots, SPOTS_KEY));
+
+        table.finish(build);
+        Route nearest = table.nearest(snapshot, start, spots, SPOTS_KEY);
+        assertNotNull(nearest);
+        assertEquals(0, nearest.getTarget());
+        assertEquals(9, nearest.getTiles().size());
+        assertFalse(table.depositPath(snapshot, start).isEmpty());
+        assertSame(snapshot, table.getSnapshot());
+        assertNull("nothing left to build", table.startBuild());
+    }
+
+    @Test
+    public void newSpotTileIsNotAnsweredUntilItsFieldIsBuilt() {
+        CollisionSnapshot snapshot = scene.snapshot();
+        table.update(snapshot, spots);
+        table.buildFields();
+
+        List<WorldPoint> moved = Arrays.asList(tile(40, 62), tile(30, 80));
+        table.update(snapshot, moved);
+        assertNull(table.nearest(snapshot, start, moved, SPOTS_KEY));
+
+        table.buildFields();
+        assertNotNull(table.nearest(snapshot, start, moved, SPOTS_KEY));
+    }
+
+    @Test
+    public void buildFromOldCollisionDataIsDropped() {
+        CollisionSnapshot before = scene.snapshot();
+        table.update(before, spots);
+        RouteTable.FieldBuild stale = table.startBuild();
+
+        scene.block(35, 60, 35, 60);
+        CollisionSnapshot after = scene.snapshot();
+        table.update(after, spots);
+
+        stale.run();
+        table.finish(stale);
+        assertNull(table.nearest(after, start, spots, SPOTS_KEY));
+
+        RouteTable.FieldBuild build = table.startBuild();
+        assertNotNull(build);
+        build.run();
+        table.finish(build);
+        assertNotNull(table.nearest(after, start, spots, SPOTS_KEY));
+    }
+
+    @Test
+    public void unchangedCollisionDataKeepsTheFields() {
+        table.update(scene.snapshot(), spots);
+        table.buildFields();
+
+        // A door event captures a new snapshot even when nothing walkable changed
+        CollisionSnapshot recaptured = scene.snapshot();
+        table.update(recaptured, spots);
+        assertNull(table.startBuild());
+        assertNotNull(table.nearest(recaptured, start, spots, SPOTS_KEY));
+    }
+}
@@ -0,0 +1,149 @@
+package com.shilofishinghelper;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Minimal stand-ins for RuneLite API interfaces built from dynamic proxies.
+ * <p>
+ * Methods with an answer registered by name return it; everything else returns a neutral default: zero or
+ * false for primitives, zero-filled arrays, empty lists, and another stub for interface return types, so
+ * chained calls into parts of the API the plugin does not care about never throw.
+ */
+final class Stubs {
+    // Large enough for the extended scene some API versions expose
+    private static final int DEFAULT_ARRAY_SIZE = 184;
+
+    // Default arrays and nested stubs are shared so repeated calls neither allocate nor lose state
+    private static final Map<Class<?>, Object> DEFAULTS = new ConcurrentHashMap<>();
+    // Float and Double have no box cache; shared boxes keep allocation tests measuring the plugin, not the stubs
+    private static final Object FLOAT_ZERO = 0f;
+    private static final Object DOUBLE_ZERO = 0d;
+
+    private Stubs() {
+    }
+
+    static <T> Builder<T> of(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    static <T> T empty(Class<T> type) {
+        return of(type).build();
+    }
+
+    static final class Builder<T> {
+        private final Class<T> type;
+        private final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+        private Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        /** Answers every overload of {@code method} with the current value of {@code answer}. */
+        Builder<T> on(String method, Function<Object[], Object> answer) {
+            answers.put(method, answer);
+            return this;
+        }
+
+        Builder<T> returning(String method, Object value) {
+            return on(method, args -> value);
+        }
+
+        T build() {
+            Object[] self = new Object[1];
+            Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+                Function<Object[], Object> answer = answers.get(method.getName());
+                if (answer != null) {
+                    return answer.apply(args);
+                }
+                return fallback(self[0], method, args);
+            });
+            self[0] = proxy;
+            return type.cast(proxy);
+        }
+    }
+
+    private static Object fallback(Object self, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return args != null && args.length == 1 && self == args[0];
+            case "hashCode":
+                return System.identityHashCode(self);
+            case "toString":
+                return "Stub<" + method.getDeclaringClass().getSimpleName() + ">";
+            default:
+                return defaultValue(method.getReturnType());
+        }
+    }
+
+    static Object defaultValue(Class<?> type) {
+        if (type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return FLOAT_ZERO;
+        }
+        if (type == double.class) {
+            return DOUBLE_ZERO;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type.isPrimitive()) {
+            return 0;
+        }
+        if (type.isArray()) {
+            return DEFAULTS.computeIfAbsent(type, Stubs::defaultArray);
+        }
+        if (type == List.class) {
+            return Collections.emptyList();
+        }
+        if (type.isInterface()) {
+            return DEFAULTS.computeIfAbsent(type, Stubs::empty);
+        }
+        return null;
+    }
+
+    private static Object defaultArray(Class<?> type) {
+        Class<?> component = type.getComponentType();
+        int dimensions = 1;
+        Class<?> leaf = component;
+        while (leaf.isArray()) {
+            leaf = leaf.getComponentType();
+            dimensions++;
+        }
+
+        if (!leaf.isPrimitive() || dimensions == 1) {
+            return Array.newInstance(component, 0);
+        }
+
+        // Height maps and the like: planes first for 3D arrays, then a full scene
+        int[] sizes = new int[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            sizes[i] = DEFAULT_ARRAY_SIZE;
+        }
+        if (dimensions == 3) {
+            sizes[0] = 4;
+        }
+        return Array.newInstance(leaf, sizes);
+    }
+}
@@ -0,0 +1,42 @@
+package com.shilofishinghelper;
+
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Collision flags for one plane of a scene based where Shilo's is, for tests that drive the path finding
+ * classes directly rather than through a {@link FakeWorld}. Tiles are given in scene coordinates.
+ */
+final class TestScene {
+    static final int BASE_X = 2816;
+    static final int BASE_Y = 2880;
+
+    final int[][] flags = new int[PathFinder.SCENE_SIZE][PathFinder.SCENE_SIZE];
+
+    /**
+     * @return a snapshot of the flags as they are now; later changes need a new one
+     */
+    CollisionSnapshot snapshot() {
+        return CollisionSnapshot.restore(0, BASE_X, BASE_Y, Walkability.build(flags));
+    }
+
+    void block(int fromX, int fromY, int toX, int toY) {
+        for (int x = fromX; x <= toX; x++) {
+            for (int y = fromY; y <= toY; y++) {
+                flags[x][y] |= CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+            }
+        }
+    }
+
+    void unblock(int fromX, int fromY, int toX, int toY) {
+        for (int x = fromX; x <= toX; x++) {
+            for (int y = fromY; y <= toY; y++) {
+                flags[x][y] &= ~CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+            }
+        }
+    }
+
+    static WorldPoint tile(int x, int y) {
+        return new WorldPoint(BASE_X + x, BASE_Y + y, 0);
+    }
+}
@@ -0,0 +1,135 @@
+package com.shilofishinghelper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * A recorded sequence of game-state changes, ticks and expectations, replayed through a
+ * {@link ReplayRunner}. One command per line, {@code #} starts a comment:
+ * <pre>
+ * player X Y                 move the local player
+ * npc INDEX ID NAME X Y      spawn an NPC (underscores in NAME become spaces)
+ * move INDEX X Y             move an NPC without respawning it
+ * despawn INDEX              despawn an NPC
+ * anim ID                    change the player's animation (-1 for none)
+ * interact INDEX|none        change what the player is interacting with
+ * inventory COUNT [ITEM_ID]  fill the first COUNT inventory slots
+ * block X1 Y1 X2 Y2          make a rectangle of tiles unwalkable
+ * click                      a menu option click by the user
+ * frames N                   frames rendered after each tick (default 1)
+ * tick [N]                   run N game ticks (default 1)
+ * expect idle true|false     whether the idle tint is drawn on the last frame
+ * expect target INDEX|none   the spot the plugin picked as its target
+ * </pre>
+ */
+final class TickScript {
+    private static final int DEFAULT_ITEM_ID = 335; // raw trout
+
+    private final String name;
+    private final List<String[]> commands;
+
+    private TickScript(String name, List<String[]> commands) {
+        this.name = name;
+        this.commands = commands;
+    }
+
+    static TickScript load(String resource) throws IOException {
+        InputStream in = TickScript.class.getResourceAsStream(resource);
+        assertNotNull("missing tick script " + resource, in);
+
+        List<String[]> commands = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comment = line.indexOf('#');
+                if (comment >= 0) {
+                    line = line.substring(0, comment);
+                }
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    commands.add(line.split("\\s+"));
+                }
+            }
+        }
+        return new TickScript(resource, commands);
+    }
+
+    void replay(ReplayRunner runner) {
+        int framesPerTick = 1;
+        for (int i = 0; i < commands.size(); i++) {
+            String[] c = commands.get(i);
+            String where = name + " command " + (i + 1) + " (" + String.join(" ", c) + ")";
+            switch (c[0]) {
+                case "player":
+                    runner.movePlayer(num(c[1]), num(c[2]));
+                    break;
+                case "npc":
+                    runner.spawnNpc(num(c[1]), num(c[2]), c[3].replace('_', ' '), num(c[4]), num(c[5]));
+                    break;
+                case "move":
+                    runner.moveNpc(num(c[1]), num(c[2]), num(c[3]));
+                    break;
+                case "despawn":
+                    runner.despawnNpc(num(c[1]));
+                    break;
+                case "anim":
+                    runner.setAnimation(num(c[1]));
+                    break;
+                case "interact":
+                    runner.setInteracting("none".equals(c[1]) ? null : num(c[1]));
+                    break;
+                case "inventory":
+                    runner.setInventory(num(c[1]), c.length > 2 ? num(c[2]) : DEFAULT_ITEM_ID);
+                    break;
+                case "block":
+                    runner.block(num(c[1]), num(c[2]), num(c[3]), num(c[4]));
+                    break;
+                case "click":
+                    runner.click();
+                    break;
+                case "frames":
+                    framesPerTick = num(c[1]);
+                    break;
+                case "tick":
+                    int count = c.length > 1 ? num(c[1]) : 1;
+                    for (int t = 0; t < count; t++) {
+                        runner.tick(framesPerTick);
+                    }
+                    break;
+                case "expect":
+                    expect(runner, c, where);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown command in " + where);
+            }
+        }
+    }
+
+    private static void expect(ReplayRunner runner, String[] c, String where) {
+        switch (c[1]) {
+            case "idle":
+                // Render once more so the frame reflects events delivered since the last tick
+                runner.renderFrame();
+                assertEquals(where, Boolean.parseBoolean(c[2]), runner.idleTintVisible());
+                break;
+            case "target":
+                assertSame(where, "none".equals(c[2]) ? null : runner.npc(num(c[2])), runner.plugin.getTargetSpot());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown expectation in " + where);
+        }
+    }
+
+    private static int num(String value) {
+        return Integer.parseInt(value);
+    }
+}